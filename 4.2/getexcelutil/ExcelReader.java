@@ -0,0 +1,166 @@
+package com.foxconn.indint.utils.getexcelutil;
+
+import com.foxconn.indint.utils.getexcelutil.binding.BindingPlan;
+import com.foxconn.indint.utils.getexcelutil.exceptions.IllegalStatementsException;
+import com.foxconn.indint.utils.getexcelutil.parallel.FileImportResult;
+import com.foxconn.indint.utils.getexcelutil.parallel.ImportExecutors;
+import com.foxconn.indint.utils.getexcelutil.parallel.SessionReader;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 取值引擎
+ * 1. 仅持有不可变的取值配置，线程安全，可作为单例（如Spring Bean）供并发请求共用
+ * 2. 每个文件由open()创建独立的取值会话(ImportSession)，会话持有工作表，用完关闭
+ * 3. 实体类绑定计划、日期数字格式等缓存为全局共享，所有会话复用
+ * 4. 多文件取值(importAll)每个文件一个会话，并行执行，按文件汇总结果与异常
+ */
+public final class ExcelReader {
+
+    private final ExcelReaderConfig config;
+
+    public ExcelReader() {
+        this(ExcelReaderConfig.DEFAULT);
+    }
+
+    public ExcelReader(ExcelReaderConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("取值配置不能为空！");
+        }
+        this.config = config;
+    }
+
+    public ExcelReaderConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 预先解析实体类绑定计划并校验注解表达式，启动时调用可避免首次取值时解析
+     * @param types 接收实体类型
+     * @throws IllegalStatementsException 注解表达式错误
+     */
+    public ExcelReader prepare(Class<?>... types) throws IllegalStatementsException {
+        for (Class<?> type : types) {
+            BindingPlan.of(type).verify();
+        }
+        return this;
+    }
+
+    /**
+     * 打开上传文件
+     * @see GetExcelUtil4#initialize(MultipartFile, int)
+     */
+    public ImportSession open(MultipartFile file, int sheetNum) throws IOException {
+        return new ImportSession(new GetExcelUtil4(config).initialize(file, sheetNum));
+    }
+
+    /**
+     * 打开文件
+     * @see GetExcelUtil4#initialize(File, int)
+     */
+    public ImportSession open(File file, int sheetNum) throws IOException {
+        return new ImportSession(new GetExcelUtil4(config).initialize(file, sheetNum));
+    }
+
+    /**
+     * 打开文件
+     * @see GetExcelUtil4#initialize(Path, int)
+     */
+    public ImportSession open(Path path, int sheetNum) throws IOException {
+        return new ImportSession(new GetExcelUtil4(config).initialize(path, sheetNum));
+    }
+
+    /**
+     * 多文件并行取值
+     * 1. 每个文件一个取值会话，运行于支持虚拟线程的JDK时每个文件一个虚拟线程，否则使用线程池
+     * 2. 同时打开的文件数不超过maxConcurrency
+     * 3. 单个文件打开或取值失败时记录为该文件的失败结果，不影响其他文件
+     * @param paths 要读取的文件
+     * @param sheetNum 欲读取的工作表数
+     * @param reader 单个文件的取值操作
+     * @param maxConcurrency 同时取值的最大文件数
+     * @param <R> 取值结果类型
+     * @return 各文件结果，顺序与paths一致
+     * @throws InterruptedException 等待取值结束时被中断，未结束的取值将被中断
+     */
+    public <R> List<FileImportResult<R>> importAll(Collection<Path> paths, int sheetNum, SessionReader<R> reader, int maxConcurrency) throws InterruptedException {
+        return importAll(paths, Path::toString, this::open, sheetNum, reader, maxConcurrency);
+    }
+
+    /**
+     * 多上传文件并行取值
+     * @see #importAll(Collection, int, SessionReader, int)
+     */
+    public <R> List<FileImportResult<R>> importAllUploads(Collection<? extends MultipartFile> files, int sheetNum, SessionReader<R> reader, int maxConcurrency) throws InterruptedException {
+        return importAll(files, MultipartFile::getOriginalFilename, this::open, sheetNum, reader, maxConcurrency);
+    }
+
+    private <S, R> List<FileImportResult<R>> importAll(Collection<? extends S> sources, Function<S, String> naming, SessionOpener<S> opener,
+                                                       int sheetNum, SessionReader<R> reader, int maxConcurrency) throws InterruptedException {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("最大并行文件数不能小于1！");
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = ImportExecutors.newExecutor(maxConcurrency);
+        List<Future<FileImportResult<R>>> futures = new ArrayList<>(sources.size());
+        try {
+            for (S source : sources) {
+                futures.add(executor.submit(() -> importOne(source, naming, opener, sheetNum, reader, permits)));
+            }
+            List<FileImportResult<R>> results = new ArrayList<>(futures.size());
+            for (Future<FileImportResult<R>> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // 取值异常已记录为文件结果，此处多为Error，原样抛出
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private <S, R> FileImportResult<R> importOne(S source, Function<S, String> naming, SessionOpener<S> opener,
+                                                 int sheetNum, SessionReader<R> reader, Semaphore permits) {
+        String name = naming.apply(source);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FileImportResult.failure(name, e);
+        }
+        try (ImportSession session = opener.open(source, sheetNum)) {
+            return FileImportResult.success(name, reader.read(session));
+        } catch (Exception e) {
+            return FileImportResult.failure(name, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionOpener<S> {
+        ImportSession open(S source, int sheetNum) throws IOException;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.foxconn.indint.utils.getexcelutil;
+
+import com.foxconn.indint.utils.getexcelutil.enums.ReadMode;
+
+import java.io.File;
+
+/**
+ * 取值配置
+ * 创建后不可修改，可由多个线程、多次取值共用，由{@link Builder}创建
+ */
+public final class ExcelReaderConfig {
+
+    /**
+     * 默认配置：DOM模式，日期yyyy/MM/dd，数字#.##，无开始、结束标志
+     */
+    public static final ExcelReaderConfig DEFAULT = builder().build();
+
+    private final ReadMode readMode;
+    private final String datePattern;
+    private final String numberFormat;
+    private final String startTag;
+    private final String endTag;
+    private final File duplicateIndexDirectory;
+
+    private ExcelReaderConfig(Builder builder) {
+        this.readMode = builder.readMode;
+        this.datePattern = builder.datePattern;
+        this.numberFormat = builder.numberFormat;
+        this.startTag = builder.startTag;
+        this.endTag = builder.endTag;
+        this.duplicateIndexDirectory = builder.duplicateIndexDirectory;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    public String getDatePattern() {
+        return datePattern;
+    }
+
+    public String getNumberFormat() {
+        return numberFormat;
+    }
+
+    public String getStartTag() {
+        return startTag;
+    }
+
+    public String getEndTag() {
+        return endTag;
+    }
+
+    public File getDuplicateIndexDirectory() {
+        return duplicateIndexDirectory;
+    }
+
+    /**
+     * 配置构建，各项含义及默认值同GetExcelUtil4的同名设置
+     */
+    public static final class Builder {
+        private ReadMode readMode = ReadMode.DOM;
+        private String datePattern = "yyyy/MM/dd";
+        private String numberFormat = "#.##";
+        private String startTag;
+        private String endTag;
+        private File duplicateIndexDirectory;
+
+        private Builder() {
+        }
+
+        /**
+         * @see GetExcelUtil4#setReadMode(ReadMode)
+         */
+        public Builder setReadMode(ReadMode readMode) {
+            this.readMode = readMode;
+            return this;
+        }
+
+        /**
+         * @see GetExcelUtil4#setDatePattern(String)
+         */
+        public Builder setDatePattern(String datePattern) {
+            this.datePattern = datePattern;
+            return this;
+        }
+
+        /**
+         * @see GetExcelUtil4#setNumberFormat(String)
+         */
+        public Builder setNumberFormat(String numberFormat) {
+            this.numberFormat = numberFormat;
+            return this;
+        }
+
+        /**
+         * @see GetExcelUtil4#setStartTag(String)
+         */
+        public Builder setStartTag(String startTag) {
+            this.startTag = startTag;
+            return this;
+        }
+
+        /**
+         * @see GetExcelUtil4#setEndTag(String)
+         */
+        public Builder setEndTag(String endTag) {
+            this.endTag = endTag;
+            return this;
+        }
+
+        /**
+         * @see GetExcelUtil4#setDuplicateIndexDirectory(File)
+         */
+        public Builder setDuplicateIndexDirectory(File duplicateIndexDirectory) {
+            this.duplicateIndexDirectory = duplicateIndexDirectory;
+            return this;
+        }
+
+        public ExcelReaderConfig build() {
+            return new ExcelReaderConfig(this);
+        }
+    }
+
+}
@@ -1,55 +1,93 @@
 package com.foxconn.indint.utils.getexcelutil;
 
 import com.foxconn.indint.utils.getexcelutil.annotation.DynamicRank;
-import com.foxconn.indint.utils.getexcelutil.annotation.Transform;
-import com.foxconn.indint.utils.getexcelutil.annotation.ValueIngnore;
 import com.foxconn.indint.utils.getexcelutil.annotation.NotNull;
 import com.foxconn.indint.utils.getexcelutil.annotation.ExcelDateFormat;
 import com.foxconn.indint.utils.getexcelutil.annotation.ExcelNumberFormat;
-import com.foxconn.indint.utils.getexcelutil.annotation.ValueLimit;
+import com.foxconn.indint.utils.getexcelutil.binding.BindingPlan;
+import com.foxconn.indint.utils.getexcelutil.binding.FieldBinding;
+import com.foxconn.indint.utils.getexcelutil.binding.StringPools;
+import com.foxconn.indint.utils.getexcelutil.column.ColumnarData;
+import com.foxconn.indint.utils.getexcelutil.column.DataColumn;
+import com.foxconn.indint.utils.getexcelutil.convert.CellConverter;
+import com.foxconn.indint.utils.getexcelutil.convert.FormatterRegistry;
+import com.foxconn.indint.utils.getexcelutil.convert.NumberPattern;
+import com.foxconn.indint.utils.getexcelutil.duplicate.DuplicateDetector;
+import com.foxconn.indint.utils.getexcelutil.enums.ReadMode;
 import com.foxconn.indint.utils.getexcelutil.exceptions.DataDuplicationException;
 import com.foxconn.indint.utils.getexcelutil.exceptions.EmptyExcelFileException;
 import com.foxconn.indint.utils.getexcelutil.exceptions.IllegalStatementsException;
 import com.foxconn.indint.utils.getexcelutil.exceptions.SheetNoOutOfBoundsException;
 import com.foxconn.indint.utils.getexcelutil.exceptions.SheetNumOutOfBoundsException;
+import com.foxconn.indint.utils.getexcelutil.parallel.PipelineOptions;
+import com.foxconn.indint.utils.getexcelutil.parallel.PipelineStats;
+import com.foxconn.indint.utils.getexcelutil.parallel.SheetRequest;
+import com.foxconn.indint.utils.getexcelutil.sheet.BufferedSheet;
+import com.foxconn.indint.utils.getexcelutil.sheet.ColumnOccupancy;
+import com.foxconn.indint.utils.getexcelutil.sheet.DomSheet;
+import com.foxconn.indint.utils.getexcelutil.sheet.ExcelSheet;
+import com.foxconn.indint.utils.getexcelutil.sheet.SheetRegistry;
+import com.foxconn.indint.utils.getexcelutil.stream.BatchSink;
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import com.foxconn.indint.utils.getexcelutil.stream.HSSFStreamingReader;
+import com.foxconn.indint.utils.getexcelutil.stream.RowData;
+import com.foxconn.indint.utils.getexcelutil.stream.RowHandler;
+import com.foxconn.indint.utils.getexcelutil.stream.StreamingRowIterator;
+import com.foxconn.indint.utils.getexcelutil.stream.StreamingSheetReader;
+import com.foxconn.indint.utils.getexcelutil.stream.XSSFStreamingReader;
 import org.apache.commons.beanutils.ConvertUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFDateUtil;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.openxml4j.util.ZipSecureFile;
 import org.apache.poi.poifs.filesystem.FileMagic;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.util.IOUtils;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.SheetVisibility;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
-import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
-import java.text.DateFormat;
-import java.text.DecimalFormat;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @code 大迪
@@ -64,22 +102,76 @@ import java.util.Date;
  *      （1）注解数值格式(@ExcelNumberFormat)时，字段遇空值自动转化0
  *      （2）设置起始标志的情况下，校准位置改为以标题栏为准（取数据行前推一行）
  *      （3）异常信息提示的数字列序号校准为对应字母序号
+ * 5. 增加流式读取模式(ReadMode.STREAMING)，xlsx基于SAX、xls基于HSSF事件模型逐行取值，内存占用与表格大小无关
+ * 6. 增加工作表延迟加载模式(ReadMode.LAZY)，工作表首次取值时才解析，可通过releaseSheet释放
+ * 7. 增加File/Path初始化，文件以只读方式随机访问；上传文件转存临时文件后同样按文件读取
+ * 8. 增加streamHorizontalData，以惰性流逐行取值，不收集整个数据集
+ * 9. 增加分批取值(BatchSink)，按批交由回调处理，便于与数据库批量写入并行
+ * 10. 优化：实体类字段、注解及setter解析结果按类缓存(BindingPlan)，取值时不再逐单元格反射
+ * 11. 优化：getter/setter由LambdaMetafactory生成，赋值开销接近直接调用
+ * 12. 增加注解处理器RowMapperProcessor，编译期生成实体类访问器，存在时优先使用
+ * 13. 优化：数字、日期单元格按单元格类型与字段类型直接转化(ConverterRegistry)，不再格式化为字符串后解析；
+ *     支持日期单元格写入Date/LocalDate/LocalDateTime字段
+ * 14. 优化：日期、数字格式按格式缓存(FormatterRegistry)，取值、校验时不再逐单元格创建SimpleDateFormat/DecimalFormat
+ * 15. 优化：重复性检查按hashCode索引(DuplicateDetector)，不再与已读取数据逐个比较；增加@UniqueKey指定判定字段（组合键）
+ * 16. 增加重复性检查磁盘索引(setDuplicateIndexDirectory)，内存映射哈希表加布隆过滤器，内存占用与数据量无关
+ * 17. 优化：垂直表格空列判定使用工作表列占用索引(ColumnOccupancy)，每个工作表只遍历一次
+ * 18. 优化：@DynamicRank表头范围及表头单元格按表头行（/列）解析一次(DynamicHeader)，所有数据行（/列）复用
+ * 19. 增加@ExcelColumn，按表头名称匹配列，表头于取值开始时建立索引，模板列顺序调整不影响取值
+ * 20. 增加列式取值getHorizontalColumns，按字段保存为基本类型数组及字典编码字符串，不保留实体
+ * 21. 增加@Intern字符串去重，@ValueLimit字段自动去重；流式读取xlsx时共享字符串按序号缓存
+ * 22. 优化：@ValueLimit限定值、@Transform表达式于绑定计划创建时编译为集合、映射，表达式错误在取值开始前抛出
+ * 23. 优化：@ExcelNumberFormat的when条件于绑定计划创建时解析，判定字段getter缓存，条件格式错误在取值开始前抛出
+ * 24. 增加多工作表并行取值getHorizontalData(List<SheetRequest>, Executor)，延迟加载模式按工作表加锁，各工作表可并行解析
+ * 25. 增加单个工作表按行范围并行取值getHorizontalData(..., ForkJoinPool)，重复性检查、异常行号与逐行取值一致
+ * 26. 增加流水线分批取值getHorizontalData(..., BatchSink, PipelineOptions)，读取、赋值校验、合并回调分阶段并行，各阶段统计见PipelineStats
+ * 27. 增加ExcelReader/ExcelReaderConfig/ImportSession，配置不可变、引擎线程安全可单例共用，每个文件一个取值会话，绑定计划等缓存全局共享
+ * 28. 增加多文件并行取值ExcelReader.importAll，支持虚拟线程时每个文件一个虚拟线程，限制同时取值文件数，按文件汇总结果与异常
  */
-public class GetExcelUtil4 implements Serializable {
+public class GetExcelUtil4 implements Serializable, Closeable {
     private static final long serialVersionUID = 1L;
     private static final Logger logger = LoggerFactory.getLogger(GetExcelUtil4.class);
+    // 流式读取时解析线程与取值线程间缓冲的行数
+    private static final int STREAMING_QUEUE_CAPACITY = 256;
+    // 按行范围并行取值时每个范围的最少行数
+    private static final int PARALLEL_MIN_CHUNK_ROWS = 512;
 
     /**
      * 參數
      */
     private String datePattern = "yyyy/MM/dd";
     private String numberFormat = "#.##";
-    private Sheet[] sheets;
+    private SheetRegistry sheets;
     private String startTag;
     private String endTag;
+    private ReadMode readMode = ReadMode.DOM;
+    private File duplicateIndexDirectory;
+
+    /**
+     * 流式读取、延迟加载时保留文件，取值时重新打开解析
+     */
+    private transient File sourceFile;
+    private transient boolean temporarySource;
+
+    public GetExcelUtil4() {
+    }
+
+    /**
+     * 按取值配置创建，供ExcelReader为每次取值创建独立实例
+     */
+    GetExcelUtil4(ExcelReaderConfig config) {
+        this.readMode = config.getReadMode();
+        this.datePattern = config.getDatePattern();
+        this.numberFormat = config.getNumberFormat();
+        this.startTag = config.getStartTag();
+        this.endTag = config.getEndTag();
+        this.duplicateIndexDirectory = config.getDuplicateIndexDirectory();
+    }
 
     /**
      * 初始化sheet
+     * 上传文件先转存为临时文件（已落盘的上传文件直接移动），以文件方式随机访问，不将整个文件读入内存
+     * STREAMING/LAZY模式下临时文件保留至close()
      * @param file
      *  - 要读取数据的excel文件
      * @param sheetNum
@@ -94,248 +186,1749 @@ public class GetExcelUtil4 implements Serializable {
         }
         String fileName = file.getOriginalFilename();
         assert fileName != null;
-        ZipSecureFile.setMinInflateRatio(-1.0d);
+        checkFileName(fileName);
+
+        File tempFile = File.createTempFile("getexcelutil-", fileName.substring(fileName.lastIndexOf('.')));
+        try {
+            // 目标文件已存在时部分实现无法直接移动上传文件
+            Files.delete(tempFile.toPath());
+            file.transferTo(tempFile);
+            initialize(tempFile, sheetNum, true);
+        } finally {
+            if (tempFile != sourceFile) {
+                Files.deleteIfExists(tempFile.toPath());
+            } else {
+                // 未调用close()时兜底
+                tempFile.deleteOnExit();
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * 初始化sheet
+     * @param file
+     *  - 要读取数据的excel文件，以只读方式打开
+     * @param sheetNum
+     *  - 欲读取的工作表数
+     * @return this
+     * @throws IOException
+     *  - 打开文件异常
+     */
+    public GetExcelUtil4 initialize(File file, int sheetNum) throws IOException {
+        if (null == file || !file.isFile()) {
+            throw new EmptyExcelFileException("读取的文件不存在！");
+        }
+        checkFileName(file.getName());
+        return initialize(file, sheetNum, false);
+    }
+
+
+    /**
+     * 初始化sheet
+     * @see #initialize(File, int)
+     */
+    public GetExcelUtil4 initialize(Path path, int sheetNum) throws IOException {
+        return initialize(null == path ? null : path.toFile(), sheetNum);
+    }
+
+    private void checkFileName(String fileName) {
         if (!fileName.matches("^.+\\.(?i)(xls)$") && !fileName.matches("^.+\\.(?i)(xlsx)$")) {
             throw new IllegalArgumentException("未预期的文件格式：" + fileName);
         }
+    }
+
+    /**
+     * @param temporary 是否为转存的临时文件，close()时删除
+     */
+    private GetExcelUtil4 initialize(File file, int sheetNum, boolean temporary) throws IOException {
+        close();
+        ZipSecureFile.setMinInflateRatio(-1.0d);
+
+        if (readMode != ReadMode.DOM) {
+            initializeRegistry(file, sheetNum);
+            sourceFile = file;
+            temporarySource = temporary;
+            return this;
+        }
+
+        // Mark try-with-resource机制，资源关闭交由java管理 （资源类需实现Closeable或AutoCloseable接口）
+        try (Workbook workbook = createWorkbook(file)) {
+            if (sheetNum > workbook.getNumberOfSheets()) {
+                throw new SheetNumOutOfBoundsException("文件工作表个数小于欲读取的数量！");
+            }
+            ExcelSheet[] loadedSheets = new ExcelSheet[sheetNum];
+            for (int i = 0; i < sheetNum; i++) {
+                // 有隐藏的sheet不读取
+                if (workbook.getSheetVisibility(i).equals(SheetVisibility.HIDDEN)) {
+                    throw new IllegalArgumentException("不允许存在隐藏的工作表！");
+                }
+                loadedSheets[i] = new DomSheet(workbook.getSheetAt(i));
+            }
+            sheets = SheetRegistry.eager(loadedSheets);
+        }
+        return this;
+    }
+
+    private Workbook createWorkbook(File file) throws IOException {
+        switch (FileMagic.valueOf(file)) {
+            case OOXML:
+                try {
+                    return new XSSFWorkbook(OPCPackage.open(file, PackageAccess.READ));
+                } catch (InvalidFormatException e) {
+                    throw new IOException(e);
+                }
+            case OLE2:
+                return new HSSFWorkbook(new POIFSFileSystem(file, true));
+            default:
+                throw new IllegalArgumentException("未预期的文件格式：" + FileMagic.valueOf(file));
+        }
+    }
+
+    private StreamingSheetReader createStreamingReader(File file) throws IOException {
+        switch (FileMagic.valueOf(file)) {
+            case OOXML:
+                return new XSSFStreamingReader(file);
+            case OLE2:
+                return new HSSFStreamingReader(file);
+            default:
+                throw new IllegalArgumentException("未预期的文件格式：" + FileMagic.valueOf(file));
+        }
+    }
+
+    /**
+     * 流式读取、延迟加载初始化
+     * 仅解析工作簿全局信息（workbook.xml / BoundSheet记录）校验工作表，不解析任何工作表
+     */
+    private void initializeRegistry(File file, int sheetNum) throws IOException {
+        try (StreamingSheetReader reader = createStreamingReader(file)) {
+            if (sheetNum > reader.getNumberOfSheets()) {
+                throw new SheetNumOutOfBoundsException("文件工作表个数小于欲读取的数量！");
+            }
+            String[] sheetNames = new String[sheetNum];
+            for (int i = 0; i < sheetNum; i++) {
+                // 有隐藏的sheet不读取
+                if (reader.getSheetVisibility(i + 1).equals(SheetVisibility.HIDDEN)) {
+                    throw new IllegalArgumentException("不允许存在隐藏的工作表！");
+                }
+                sheetNames[i] = reader.getSheetName(i + 1);
+            }
+            sheets = SheetRegistry.lazy(sheetNames, this::loadSheet);
+        }
+    }
+
+    /**
+     * 解析单个工作表：延迟加载时由工作表登记调用，流式读取时用于垂直表格
+     */
+    private ExcelSheet loadSheet(int sheetNo) throws IOException {
+        try (StreamingSheetReader reader = createStreamingReader(sourceFile)) {
+            return BufferedSheet.load(reader, sheetNo);
+        }
+    }
+
+
+    /**
+     * 释放文件资源
+     * STREAMING/LAZY模式下删除上传文件转存的临时文件，之后不可再取值
+     */
+    @Override
+    public void close() throws IOException {
+        if (sourceFile != null && temporarySource) {
+            Files.deleteIfExists(sourceFile.toPath());
+        }
+        sourceFile = null;
+        temporarySource = false;
+    }
+
+
+    /**
+     * 设置读取模式，需在initialize前设置
+     * @param readMode
+     *  - 默认DOM，可选STREAMING（流式读取）、LAZY（工作表延迟加载）
+     * @return this
+     */
+    public GetExcelUtil4 setReadMode(ReadMode readMode) {
+        this.readMode = readMode;
+        return this;
+    }
+
+
+    /**
+     * 设置获取日期格式
+     * @param datePattern
+     *  - 默认yyyy/MM/dd
+     * @return this
+     */
+    public GetExcelUtil4 setDatePattern(String datePattern) {
+        this.datePattern = datePattern;
+        return this;
+    }
+
+
+    /**
+     * 设置获取的数字格式
+     * @param numberFormat
+     *  - 默认#.####
+     * @return this
+     */
+    public GetExcelUtil4 setNumberFormat(String numberFormat) {
+        this.numberFormat = numberFormat;
+        return this;
+    }
+
+
+    /**
+     * 设置开始标志，采用批注
+     * @param startTag
+     * @return this
+     */
+    public GetExcelUtil4 setStartTag(String startTag) {
+        this.startTag = startTag;
+        return this;
+    }
+
+
+    /**
+     * 设置结束标志
+     * @param endTag
+     * @return this
+     */
+    public GetExcelUtil4 setEndTag(String endTag) {
+        this.endTag = endTag;
+        return this;
+    }
+
+
+    /**
+     * 设置重复性检查的磁盘索引目录
+     * 设置后，@UniqueKey字段或基础类型的重复性检查改用磁盘索引(DiskDuplicateDetector)，内存占用与数据量无关，
+     * 用于超出堆内存的大量数据；未使用@UniqueKey的实体、垂直表格及@DynamicRank栏位（受列数限制）仍在内存中检查
+     * @param duplicateIndexDirectory
+     *  - 默认null（内存）
+     * @return this
+     */
+    public GetExcelUtil4 setDuplicateIndexDirectory(File duplicateIndexDirectory) {
+        this.duplicateIndexDirectory = duplicateIndexDirectory;
+        return this;
+    }
+
+    /**
+     * 获取sheet名
+     * @param sheetNo 第几个sheet (1-based)
+     * @return sheet名
+     */
+    public String getSheetName(int sheetNo) {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+        return sheets.getSheetName(sheetNo);
+    }
+
+
+    /**
+     * 释放已加载的工作表
+     * 仅LAZY模式有效，释放后再次取值时重新解析该工作表
+     * @param sheetNo 第几个sheet (1-based)
+     * @return this
+     */
+    public GetExcelUtil4 releaseSheet(int sheetNo) {
+        sheets.release(sheetNo);
+        return this;
+    }
+
+    private ExcelSheet getSheet(int sheetNo) {
+        try {
+            return sheets.getSheet(sheetNo);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 垂直表格取值的工作表
+     * 流式读取无法按列访问，仅为本次取值整体缓冲该工作表，不保留于工作表登记
+     */
+    private ExcelSheet getVerticalSheet(int sheetNo) {
+        if (!isStreaming()) {
+            return getSheet(sheetNo);
+        }
+        try {
+            return loadSheet(sheetNo);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean isStreaming() {
+        return readMode == ReadMode.STREAMING && sourceFile != null;
+    }
+
+
+    /**
+     * 数据重复性检查
+     * desc:
+     *  1. 依赖于实体类equals方法的实现
+     *  2. 需要遍历已获取到的数据集，会影响取值效率，非必要不开启
+     *
+     * @param checkRepeat
+     */
+
+    /**
+     * 获取批注
+     * @param rowNo
+     *  - 行号
+     * @param columnNo
+     *  - 列号
+     * @return 对应位置的批注
+     */
+    private String getComment(int sheetNo, int rowNo, int columnNo) {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+        return getSheet(sheetNo).getComment(rowNo, columnNo);
+    }
+
+
+    /**
+     * 获取数据水平分布的表格的内容
+     * 默认不进行重复性检查
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
+        return getHorizontalData(sheetNo, startRow, startColumn, clazz, false);
+    }
+
+
+    /**
+     * 获取数据水平分布的表格的内容
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param enableDuplicateCheck 数据重复性检查
+     *        1. 依赖于实体类equals方法的实现
+     *        2. 需要遍历已获取到的数据集，会影响取值效率，非必要不开启
+     * @param <T> 实体泛型
+     * @throws IllegalStatementsException
+     *      {@link com.foxconn.indint.utils.getexcelutil.annotation.ExcelNumberFormat}注解的when条件判定时，表达式格式不对，
+     *      或表达式字段不存在时会抛出的异常
+     * @throws SheetNoOutOfBoundsException
+     *      读取的sheet序号溢出
+     * @throws EmptyExcelFileException
+     *
+     *
+     * setField方法抛出的
+     * @return 目标sheet数据
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+
+        BindingPlan.of(clazz).verify();
+        HorizontalRowCollector<T> collector = new HorizontalRowCollector<>(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+        try {
+            if (isStreaming()) {
+                readStreaming(sheetNo, startRow, startColumn, collector);
+            } else {
+                Iterator<RowData> rows = openSheetRows(collector, sheetNo, startRow, startColumn);
+                while (rows.hasNext()) {
+                    if (!collector.handle(rows.next())) break;
+                }
+            }
+        } finally {
+            collector.closeDetector();
+        }
+
+        List<T> list = collector.getList();
+        if (list.size() == 0) {
+            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        }
+
+        return list;
+    }
+
+
+    /**
+     * 按行范围并行获取数据水平分布的表格的内容
+     * 取值规则、结果及异常与getHorizontalData一致，区别在于：
+     *  1. 数据行按范围切分，由pool并行赋值、校验，结果按行顺序合并
+     *  2. 各范围记录重复性检查的判定键，范围完成且其前的范围均已检查时即按行顺序检查并释放判定键，
+     *     内存中仅保留尚未轮到的范围的判定键，重复提示的行号与逐行取值一致
+     *  3. 多个范围出错时抛出行号最小的异常；遇空行、结束标志或异常后，其后的范围提前结束
+     *  4. STREAMING模式无法随机访问行，按逐行取值处理
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param enableDuplicateCheck 数据重复性检查
+     * @param pool 执行取值的ForkJoinPool，由调用方管理
+     * @param <T> 实体泛型
+     * @return 目标sheet数据
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, ForkJoinPool pool) throws IllegalStatementsException {
+        if (isStreaming()) {
+            return getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+        }
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+
+        BindingPlan<T> plan = BindingPlan.of(clazz);
+        plan.verify();
+        checkStartComment(sheetNo, startRow, startColumn);
+        ExcelSheet sheet = getSheet(sheetNo);
+
+        int lastRowNum = sheet.getLastRowNum();
+        int rowCount = Math.max(lastRowNum - startRow + 1, 0);
+        int chunkRows = Math.max(PARALLEL_MIN_CHUNK_ROWS, (rowCount + pool.getParallelism() * 4 - 1) / (pool.getParallelism() * 4));
+        List<HorizontalRowChunk<T>> chunks = new ArrayList<>();
+        AtomicInteger firstEventRow = new AtomicInteger(Integer.MAX_VALUE);
+        StringPools stringPools = new StringPools();
+        for (int from = startRow; from <= lastRowNum; from += chunkRows) {
+            HorizontalRowChunk<T> chunk = new HorizontalRowChunk<>(sheet::getRow, sheetNo, startRow, startColumn, clazz,
+                    enableDuplicateCheck ? new DeferredDuplicateDetector() : null, stringPools, from, Math.min(from + chunkRows, lastRowNum + 1), firstEventRow);
+            prepareHeaderRows(chunk, sheet, startRow);
+            chunks.add(chunk);
+        }
+
+        List<T> list = new ArrayList<>();
+        try (DuplicateDetector detector = enableDuplicateCheck ? plan.newDuplicateDetector(duplicateIndexDirectory) : null) {
+            if (!chunks.isEmpty()) {
+                pool.invoke(new RowRangeTask(chunks, 0, chunks.size(), detector == null ? null : new OrderedReplay(chunks, detector, sheetNo)));
+            }
+
+            // 按行顺序合并，逐行取值时最先发生的停止或异常即合并的终点，判定键已在取值时按行顺序检查
+            for (HorizontalRowChunk<T> chunk : chunks) {
+                list.addAll(chunk.getList());
+                if (chunk.error instanceof IllegalStatementsException) {
+                    throw (IllegalStatementsException) chunk.error;
+                }
+                if (chunk.error != null) {
+                    throw (RuntimeException) chunk.error;
+                }
+                if (chunk.stopped) {
+                    break;
+                }
+            }
+        }
+
+        if (list.size() == 0) {
+            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        }
+        return list;
+    }
+
+
+    /**
+     * 以流的形式获取数据水平分布的表格的内容
+     * 默认不进行重复性检查
+     */
+    public <T> Stream<T> streamHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) {
+        return streamHorizontalData(sheetNo, startRow, startColumn, clazz, false);
+    }
+
+
+    /**
+     * 以流的形式获取数据水平分布的表格的内容
+     * 取值规则与getHorizontalData一致，区别在于：
+     *  1. 流为惰性求值，每取一个元素才读取、赋值一行，不收集整个数据集
+     *  2. STREAMING模式下由后台线程解析文件，使用完毕必须关闭流（try-with-resources）以停止解析线程、释放文件；
+     *     未关闭的流被回收后解析线程才停止
+     *  3. 数据区域为空时返回空流
+     *  4. 取值时的IllegalStatementsException包装为RuntimeException抛出
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param enableDuplicateCheck 数据重复性检查，开启时需保留已读取数据的判定键
+     * @param <T> 实体泛型
+     * @return 目标sheet数据流
+     */
+    public <T> Stream<T> streamHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+
+        try {
+            BindingPlan.of(clazz).verify();
+        } catch (IllegalStatementsException e) {
+            throw new RuntimeException(e);
+        }
+        HorizontalRowIterator<T> iterator = new HorizontalRowIterator<>(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+        Iterator<RowData> rows;
+        try {
+            rows = isStreaming()
+                    ? openStreamingRows(sheetNo, startRow, startColumn)
+                    : openSheetRows(iterator, sheetNo, startRow, startColumn);
+        } catch (RuntimeException e) {
+            iterator.closeDetector();
+            throw e;
+        }
+        iterator.rows = rows;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    closeRows(rows);
+                    iterator.closeDetector();
+                });
+    }
+
+
+    /**
+     * 分批获取数据水平分布的表格的内容
+     * 默认不进行重复性检查
+     * @see #getHorizontalData(int, int, int, Class, boolean, int, BatchSink)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, int batchSize, Consumer<List<T>> consumer) throws IllegalStatementsException {
+        return getHorizontalData(sheetNo, startRow, startColumn, clazz, false, batchSize, (batch, rowNums) -> consumer.accept(batch));
+    }
+
+
+    /**
+     * 分批获取数据水平分布的表格的内容
+     * 默认不进行重复性检查
+     * @see #getHorizontalData(int, int, int, Class, boolean, int, BatchSink)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, int batchSize, BatchSink<T> sink) throws IllegalStatementsException {
+        return getHorizontalData(sheetNo, startRow, startColumn, clazz, false, batchSize, sink);
+    }
+
+
+    /**
+     * 分批获取数据水平分布的表格的内容
+     * 取值规则与getHorizontalData一致，每满batchSize条交由sink处理一次，不收集整个数据集
+     * STREAMING模式下由后台线程解析文件，sink处理（如数据库批量写入）期间解析不中断
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param enableDuplicateCheck 数据重复性检查，开启时需保留已读取数据的判定键
+     * @param batchSize 每批数据条数
+     * @param sink 批次回调，同时获得每条数据所在的行号
+     * @param <T> 实体泛型
+     * @throws IllegalStatementsException
+     *      {@link com.foxconn.indint.utils.getexcelutil.annotation.ExcelNumberFormat}注解的when条件判定时，表达式格式不对，
+     *      或表达式字段不存在时会抛出的异常，此前的批次已交由sink处理
+     * @return 读取的数据总条数
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, int batchSize, BatchSink<T> sink) throws IllegalStatementsException {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("每批数据条数需大于0！");
+        }
+
+        BindingPlan.of(clazz).verify();
+        HorizontalBatchCollector<T> collector = new HorizontalBatchCollector<>(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck, batchSize, sink);
+        Iterator<RowData> rows = null;
+        try {
+            rows = isStreaming()
+                    ? openStreamingRows(sheetNo, startRow, startColumn)
+                    : openSheetRows(collector, sheetNo, startRow, startColumn);
+            while (rows.hasNext()) {
+                if (!collector.handle(rows.next())) break;
+            }
+        } finally {
+            closeRows(rows);
+            collector.closeDetector();
+        }
+
+        int count = collector.finish();
+        if (count == 0) {
+            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        }
+        return count;
+    }
+
+
+    /**
+     * 以流水线方式分批获取数据水平分布的表格的内容
+     * 取值规则、批次回调及异常与分批取值getHorizontalData(..., batchSize, sink)一致，区别在于：
+     *  1. 读取、赋值校验、合并回调分为三个阶段并行：读取线程逐行读取并按块交出，
+     *     options.workers个工作线程逐块赋值、校验，调用线程按行顺序合并、重复性检查后回调sink
+     *  2. 阶段间经有界队列传递，合并、回调慢于读取时读取线程阻塞，内存中最多保留queueCapacity块
+     *  3. 各阶段处理行数、耗时记录于options.getStats()，取值过程中可读取
+     *  4. STREAMING模式下解压、解析仍由解析线程执行，读取线程从解析线程拉取行
+     *  5. 读取线程每次取值新建；工作线程默认每次取值新建，设置options.executor时由该线程池执行，
+     *     调用线程所需的块未完成时亦自行赋值，不依赖线程池的空闲线程
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param enableDuplicateCheck 数据重复性检查，开启时需保留已读取数据的判定键
+     * @param batchSize 每批数据条数
+     * @param sink 批次回调，在调用线程执行
+     * @param options 流水线参数
+     * @param <T> 实体泛型
+     * @return 数据总条数
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, int batchSize, BatchSink<T> sink, PipelineOptions options) throws IllegalStatementsException {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("每批数据条数需大于0！");
+        }
+
+        BindingPlan<T> plan = BindingPlan.of(clazz);
+        plan.verify();
+        // 合并阶段只分批回调，重复性检查由流水线按行顺序执行
+        HorizontalBatchCollector<T> collector = new HorizontalBatchCollector<>(sheetNo, startRow, startColumn, clazz, false, batchSize, sink);
+
+        int count;
+        // 先创建重复性检查，创建失败时尚未打开行读取
+        try (DuplicateDetector detector = enableDuplicateCheck ? plan.newDuplicateDetector(duplicateIndexDirectory) : null) {
+            Iterator<RowData> rows = isStreaming()
+                    ? openStreamingRows(sheetNo, startRow, startColumn)
+                    : openSheetRows(collector, sheetNo, startRow, startColumn);
+            HorizontalPipeline<T> pipeline = new HorizontalPipeline<>(collector, rows, enableDuplicateCheck, options);
+            try {
+                count = pipeline.run(detector);
+            } finally {
+                pipeline.cancel();
+            }
+        }
+        if (count == 0) {
+            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        }
+        return count;
+    }
+
+
+    /**
+     * 列式获取数据水平分布的表格的内容
+     * 取值规则、注解校验与getHorizontalData一致，区别在于：
+     *  1. 不返回实体，按字段保存为列：整数为long[]，小数为double[]，字符串为字典编码，其余为Object[]，空值以位图记录
+     *  2. 实体仅作为逐行赋值的中间对象，无@ExcelNumberFormat的when条件时所有行复用同一实体
+     *  3. 字段需有getter；不支持@DynamicRank字段；基础类型时只有一列，列名为起始列字母
+     *  4. 不进行重复性检查
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     * @param <T> 实体泛型
+     * @return 各列数据，列名为字段名
+     */
+    public <T> ColumnarData getHorizontalColumns(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
+        if (sheetNo > sheets.getNumberOfSheets()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+
+        BindingPlan.of(clazz).verify();
+        HorizontalColumnCollector<T> collector = new HorizontalColumnCollector<>(sheetNo, startRow, startColumn, clazz);
+        Iterator<RowData> rows = null;
+        try {
+            rows = isStreaming()
+                    ? openStreamingRows(sheetNo, startRow, startColumn)
+                    : openSheetRows(collector, sheetNo, startRow, startColumn);
+            while (rows.hasNext()) {
+                if (!collector.handle(rows.next())) break;
+            }
+        } finally {
+            closeRows(rows);
+        }
+
+        ColumnarData data = collector.getData();
+        if (data.getRowCount() == 0) {
+            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        }
+        return data;
+    }
+
+
+    /**
+     * 并行获取多个数据水平分布的工作表的内容
+     * 各工作表按各自的取值参数取值，规则与getHorizontalData一致，区别在于：
+     *  1. 各工作表由executor并行取值，DOM模式并行赋值、校验，LAZY模式并行解析工作表，
+     *     STREAMING模式各工作表分别打开文件，并行解压、解析
+     *  2. 结果与requests一一对应
+     *  3. 按requests顺序等待结果，遇第一个失败的工作表时取消尚未开始的工作表并抛出其异常
+     *  4. 取值期间不可修改本工具的设置
+     *  5. DOM模式下各工作表共用同一工作簿，起始批注的读取按工作簿串行
+     * @param requests 各工作表取值参数
+     * @param executor 执行取值的线程池，由调用方创建、关闭
+     * @return 各工作表数据
+     */
+    public List<List<?>> getHorizontalData(List<? extends SheetRequest<?>> requests, Executor executor) throws IllegalStatementsException {
+        List<CompletableFuture<List<?>>> futures = new ArrayList<>(requests.size());
+        for (SheetRequest<?> request : requests) {
+            futures.add(CompletableFuture.supplyAsync(() -> getHorizontalData(request), executor));
+        }
+
+        List<List<?>> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<List<?>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            for (CompletableFuture<List<?>> future : futures) {
+                future.cancel(false);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalStatementsException) {
+                throw (IllegalStatementsException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * 并行获取多个结构相同的工作表的内容（如按月分表）
+     * 默认不进行重复性检查
+     * @see #getHorizontalData(List, Executor)
+     * @param sheetNos 各工作表序号
+     * @return 各工作表数据，与sheetNos一一对应
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<List<T>> getHorizontalData(int[] sheetNos, int startRow, int startColumn, Class<T> clazz, Executor executor) throws IllegalStatementsException {
+        List<SheetRequest<T>> requests = new ArrayList<>(sheetNos.length);
+        for (int sheetNo : sheetNos) {
+            requests.add(new SheetRequest<>(sheetNo, startRow, startColumn, clazz));
+        }
+        List<List<T>> results = new ArrayList<>(sheetNos.length);
+        for (List<?> result : getHorizontalData(requests, executor)) {
+            results.add((List<T>) result);
+        }
+        return results;
+    }
+
+    /**
+     * 并行取值的单个工作表，IllegalStatementsException包装为CompletionException
+     */
+    private <T> List<T> getHorizontalData(SheetRequest<T> request) {
+        try {
+            return getHorizontalData(request.getSheetNo(), request.getStartRow(), request.getStartColumn(),
+                    request.getClazz(), request.isEnableDuplicateCheck());
+        } catch (IllegalStatementsException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+
+    /**
+     * DOM、延迟加载模式下逐行访问工作表
+     * 校验起始批注，并预先取出@DynamicRank的表头行
+     */
+    private Iterator<RowData> openSheetRows(HorizontalRowBinder<?> binder, int sheetNo, int startRow, int startColumn) {
+        checkStartComment(sheetNo, startRow, startColumn);
+
+        ExcelSheet sheet = getSheet(sheetNo);
+        prepareHeaderRows(binder, sheet, startRow);
+        return IntStream.rangeClosed(startRow, sheet.getLastRowNum()).mapToObj(sheet::getRow).iterator();
+    }
+
+    private void checkStartComment(int sheetNo, int startRow, int startColumn) {
+        String startCommon = getComment(sheetNo, startRow - 1, startColumn);
+        if (startCommon == null || StringUtils.isNotEmpty(startTag) && !startTag.equals(startCommon)) {
+            throw new IllegalArgumentException("无法适配起始行！");
+        }
+    }
+
+    /**
+     * 预先取出@DynamicRank的表头行及@ExcelColumn的表头行
+     */
+    private void prepareHeaderRows(HorizontalRowBinder<?> binder, ExcelSheet sheet, int startRow) {
+        for (int titleRank : binder.titleRanks) {
+            binder.titleRows.put(titleRank, sheet.getRow(titleRank));
+        }
+        if (startRow > 1) {
+            binder.headerRow = sheet.getRow(startRow - 1);
+        }
+    }
+
+
+    /**
+     * 流式读取工作表，逐行交由handler处理
+     * 文件每次取值时重新打开，起始批注的校验与DOM模式一致
+     */
+    private void readStreaming(int sheetNo, int startRow, int startColumn, RowHandler handler) {
+        try (StreamingSheetReader reader = createStreamingReader(sourceFile)) {
+            checkStreamingStartComment(reader, sheetNo, startRow, startColumn);
+            reader.read(sheetNo, handler);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 流式读取工作表，由后台线程解析，调用方逐行拉取
+     */
+    private StreamingRowIterator openStreamingRows(int sheetNo, int startRow, int startColumn) {
+        StreamingSheetReader reader = null;
+        try {
+            reader = createStreamingReader(sourceFile);
+            checkStreamingStartComment(reader, sheetNo, startRow, startColumn);
+            return new StreamingRowIterator(reader, sheetNo, STREAMING_QUEUE_CAPACITY);
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(reader);
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        }
+    }
+
+    private void checkStreamingStartComment(StreamingSheetReader reader, int sheetNo, int startRow, int startColumn) throws IOException {
+        String startCommon = reader.getComment(sheetNo, startRow - 1, startColumn);
+        if (startCommon == null || StringUtils.isNotEmpty(startTag) && !startTag.equals(startCommon)) {
+            throw new IllegalArgumentException("无法适配起始行！");
+        }
+    }
+
+    private void closeRows(Iterator<RowData> rows) {
+        if (rows instanceof StreamingRowIterator) {
+            ((StreamingRowIterator) rows).close();
+        }
+    }
+
+
+    /**
+     * 水平表格逐行取值
+     * DOM与流式读取共用，行数据依次传入，遇空行、结束标志或缺失行时停止
+     * 赋值完成的实体交由子类处理
+     * @param <T> 实体泛型
+     */
+    private abstract class HorizontalRowBinder<T> implements RowHandler {
+        final int sheetNo;
+        final int startRow;
+        final int startColumn;
+        final Class<T> clazz;
+        final boolean enableDuplicateCheck;
+        final BindingPlan<T> plan;
+        final Set<Integer> titleRanks;
+        final Map<Integer, RowData> titleRows = new HashMap<>();
+        // @DynamicRank表头布局，所有数据行复用
+        final Map<Integer, DynamicHeader> headers = new HashMap<>();
+        // @ExcelColumn表头行及按字段序号解析的列，首个数据行时解析
+        RowData headerRow;
+        private int[] namedColumns;
+        // 重复性检查，仅保留已读取数据的判定键
+        private final DuplicateDetector detector;
+        // @Intern字段本次取值的去重池
+        final StringPools stringPools;
+        private int boundCount;
+        IllegalStatementsException statementsException;
+
+        HorizontalRowBinder(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) {
+            this(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck
+                    ? BindingPlan.of(clazz).newDuplicateDetector(duplicateIndexDirectory) : null, new StringPools());
+        }
+
+        /**
+         * @param detector 重复性检查，为null时不检查
+         * @param stringPools 字符串去重池，同一次取值的各部分共用
+         */
+        HorizontalRowBinder(int sheetNo, int startRow, int startColumn, Class<T> clazz, DuplicateDetector detector, StringPools stringPools) {
+            this.sheetNo = sheetNo;
+            this.startRow = startRow;
+            this.startColumn = startColumn;
+            this.clazz = clazz;
+            this.enableDuplicateCheck = detector != null;
+            this.plan = BindingPlan.of(clazz);
+            this.titleRanks = plan.getTitleRanks();
+            this.detector = detector;
+            this.stringPools = stringPools;
+        }
+
+        /**
+         * 释放重复性检查资源（磁盘索引的临时文件）
+         */
+        void closeDetector() {
+            if (detector != null) {
+                detector.close();
+            }
+        }
+
+        /**
+         * 创建逐行赋值的实体
+         */
+        T newTarget() {
+            return plan.newInstance();
+        }
+
+        /**
+         * 处理赋值完成的实体
+         * @param t 实体
+         * @param rowNum 所在行
+         * @return 是否继续读取
+         */
+        abstract boolean accept(T t, int rowNum);
+
+        @Override
+        public boolean handle(RowData row) {
+            // 流式读取时保留@DynamicRank的表头行
+            if (titleRanks.contains(row.getRowNum())) {
+                titleRows.put(row.getRowNum(), row);
+            }
+            if (row.getRowNum() == startRow - 1) {
+                headerRow = row;
+            }
+            if (row.getRowNum() < startRow) {
+                return true;
+            }
+            // 文件中不存在的行即为空行
+            if (row.getRowNum() != startRow + boundCount) {
+                return false;
+            }
+            try {
+                return collect(row);
+            } catch (IllegalStatementsException e) {
+                statementsException = e;
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean collect(RowData row) throws IllegalStatementsException {
+            int rowNum = row.getRowNum();
+
+            if (plan.isBaseType()) {
+                CellData cell = row.getCell(startColumn);
+
+                if (isEmptyCell(cell)) return false;
+
+                String cellVal = getCellVal(cell);
+
+                // 重复性检查
+                if (enableDuplicateCheck) {
+                    int first = detector.indexOf(cellVal);
+                    if (first >= 0) {
+                        throw new DataDuplicationException("文件工作表" + sheetNo + "第" + first + "行与第" + rowNum + "行重复！");
+                    }
+                }
+
+                T t = (T) ConvertUtils.convert(cellVal, clazz);
+                if (enableDuplicateCheck) {
+                    detector.add(String.valueOf(t), rowNum);
+                }
+                return bind(t, rowNum);
+            }
+
+            FieldBinding[] fields = plan.getFields();
+            int fieldsLen = fields.length;
+
+            // 空行退出
+            if (isEmptyRow(row)) return false;
+
+            // 有结束标志，且行第一个值为结束标志时结束
+            if (StringUtils.isNotEmpty(endTag) && endTag.equals(getCellVal(row.getCell(startColumn)))) {
+                return false;
+            }
+
+            if (plan.hasNamedColumns() && namedColumns == null) {
+                RowData header = headerRow == null ? new RowData(startRow - 1, null) : headerRow;
+                namedColumns = resolveNamedPositions(plan, header::getCell, header.getLastCellNum(), sheetNo);
+            }
+
+            T t = newTarget();
+            int fieldIndex = 0;
+            int columnNum = startColumn;
+
+            while (fieldIndex < fieldsLen) {
+                // 忽略接收实体类中的字段，跳过数组长度辅助字段
+                if (fields[fieldIndex].isIgnored()) {
+                    fieldIndex++;
+                    continue;
+                }
+                // 字段赋值，@ExcelColumn字段取表头匹配的列
+                int assignedCellNum;
+                if (namedColumns != null && namedColumns[fieldIndex] > 0) {
+                    setField(t, fields[fieldIndex], row.getCell(namedColumns[fieldIndex]), stringPools, sheetNo, rowNum, namedColumns[fieldIndex]);
+                    assignedCellNum = 1;
+                } else {
+                    assignedCellNum = setHorizontalField(t, fields[fieldIndex], row, titleRows, headers, stringPools, sheetNo, columnNum);
+                }
+                columnNum += assignedCellNum;
+                fieldIndex ++;
+            }
+
+            // 重复性检查
+            if (enableDuplicateCheck) {
+                Object key = plan.getDuplicateKey(t);
+                int first = detector.indexOf(key);
+                if (first >= 0) {
+                    throw new DataDuplicationException("文件工作表" + sheetNo + "第" + first + "行与第" + rowNum + "行重复！");
+                }
+                detector.add(key, rowNum);
+            }
+
+            return bind(t, rowNum);
+        }
+
+        private boolean bind(T t, int rowNum) {
+            boundCount++;
+            return accept(t, rowNum);
+        }
+    }
+
+
+    /**
+     * 收集全部数据
+     */
+    private class HorizontalRowCollector<T> extends HorizontalRowBinder<T> {
+        private final List<T> list = new ArrayList<>();
+
+        HorizontalRowCollector(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) {
+            super(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+        }
+
+        HorizontalRowCollector(int sheetNo, int startRow, int startColumn, Class<T> clazz, DuplicateDetector detector, StringPools stringPools) {
+            super(sheetNo, startRow, startColumn, clazz, detector, stringPools);
+        }
+
+        @Override
+        boolean accept(T t, int rowNum) {
+            list.add(t);
+            return true;
+        }
+
+        List<T> getList() throws IllegalStatementsException {
+            if (statementsException != null) {
+                throw statementsException;
+            }
+            return list;
+        }
+    }
+
+
+    /**
+     * 并行取值的行范围
+     * 逐行赋值、校验[from, to)内的行，重复性检查的判定键先记录，合并时按行顺序检查
+     * 取得的实体与行一一对应，第i个实体所在行为from + i
+     */
+    private class HorizontalRowChunk<T> extends HorizontalRowCollector<T> {
+        private final IntFunction<RowData> rows;
+        final int from;
+        private final int to;
+        // 所有范围中最早的停止或异常所在行，之后的行无需取值
+        final AtomicInteger firstEventRow;
+        final DeferredDuplicateDetector deferred;
+        boolean stopped;
+        Exception error;
+
+        /**
+         * @param deferred 记录判定键的重复性检查，为null时不检查
+         * @param stringPools 所有范围共用的字符串去重池
+         */
+        HorizontalRowChunk(IntFunction<RowData> rows, int sheetNo, int startRow, int startColumn, Class<T> clazz, DeferredDuplicateDetector deferred,
+                           StringPools stringPools, int from, int to, AtomicInteger firstEventRow) {
+            super(sheetNo, startRow, startColumn, clazz, deferred, stringPools);
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.firstEventRow = firstEventRow;
+            this.deferred = deferred;
+        }
+
+        void run() {
+            for (int rowNum = from; rowNum < to && rowNum < firstEventRow.get(); rowNum++) {
+                try {
+                    if (!collect(rows.apply(rowNum))) {
+                        stopped = true;
+                    }
+                } catch (IllegalStatementsException | RuntimeException e) {
+                    error = e;
+                }
+                if (stopped || error != null) {
+                    firstEventRow.accumulateAndGet(rowNum, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 按范围二分并行执行HorizontalRowChunk
+     */
+    private static class RowRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<? extends HorizontalRowChunk<?>> chunks;
+        private final int lo;
+        private final int hi;
+        private final OrderedReplay replay;
+
+        /**
+         * @param replay 重复性检查的按序重放，不检查时为null
+         */
+        RowRangeTask(List<? extends HorizontalRowChunk<?>> chunks, int lo, int hi, OrderedReplay replay) {
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+            this.replay = replay;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                chunks.get(lo).run();
+                if (replay != null) {
+                    replay.complete(lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RowRangeTask(chunks, lo, mid, replay), new RowRangeTask(chunks, mid, hi, replay));
+        }
+    }
+
+
+    /**
+     * 并行取值时按行顺序将各范围的判定键重放至实际的重复性检查
+     * 1. 范围完成且其前所有范围均已重放时即重放，并释放其判定键
+     * 2. 同一时刻仅一个线程重放，其余线程登记完成后直接返回，不等待
+     * 3. 重放发现重复时记为该范围的异常，遇停止或异常的范围后不再重放
+     */
+    private static final class OrderedReplay {
+        private final List<? extends HorizontalRowChunk<?>> chunks;
+        private final DuplicateDetector detector;
+        private final int sheetNo;
+        private final boolean[] completed;
+        // 下一个待重放的范围
+        private int next;
+        private boolean replaying;
+        private boolean finished;
+
+        OrderedReplay(List<? extends HorizontalRowChunk<?>> chunks, DuplicateDetector detector, int sheetNo) {
+            this.chunks = chunks;
+            this.detector = detector;
+            this.sheetNo = sheetNo;
+            this.completed = new boolean[chunks.size()];
+        }
+
+        /**
+         * 登记第i个范围已完成，并重放已可重放的范围
+         */
+        void complete(int i) {
+            synchronized (this) {
+                completed[i] = true;
+                if (replaying) {
+                    return;
+                }
+                replaying = true;
+            }
+            while (true) {
+                HorizontalRowChunk<?> chunk;
+                synchronized (this) {
+                    if (finished || next == chunks.size() || !completed[next]) {
+                        replaying = false;
+                        return;
+                    }
+                    chunk = chunks.get(next++);
+                }
+                boolean last;
+                try {
+                    chunk.deferred.replay(detector, sheetNo);
+                    last = chunk.stopped || chunk.error != null;
+                } catch (RuntimeException e) {
+                    // 重复行之前的行均已取值，其后的行无需取值
+                    chunk.error = e;
+                    chunk.firstEventRow.accumulateAndGet(chunk.from, Math::min);
+                    last = true;
+                }
+                synchronized (this) {
+                    finished = last;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 仅记录判定键的重复性检查，由合并方按行顺序在实际的重复性检查中重放
+     */
+    private static class DeferredDuplicateDetector implements DuplicateDetector {
+        private final List<Object> lookupKeys = new ArrayList<>();
+        private final List<Object> keys = new ArrayList<>();
+        private final List<Integer> indexes = new ArrayList<>();
+
+        @Override
+        public int indexOf(Object key) {
+            lookupKeys.add(key);
+            return -1;
+        }
+
+        @Override
+        public void add(Object key, int index) {
+            keys.add(key);
+            indexes.add(index);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * 按记录顺序检查并记录判定键，与逐行取值时的检查一致，完成后释放已记录的判定键
+         */
+        void replay(DuplicateDetector detector, int sheetNo) {
+            try {
+                for (int i = 0; i < keys.size(); i++) {
+                    replay(detector, sheetNo, i);
+                }
+            } finally {
+                lookupKeys.clear();
+                keys.clear();
+                indexes.clear();
+            }
+        }
+
+        /**
+         * 检查并记录第i条数据的判定键
+         */
+        void replay(DuplicateDetector detector, int sheetNo, int i) {
+            int index = indexes.get(i);
+            int first = detector.indexOf(lookupKeys.get(i));
+            if (first >= 0) {
+                throw new DataDuplicationException("文件工作表" + sheetNo + "第" + first + "行与第" + index + "行重复！");
+            }
+            detector.add(keys.get(i), index);
+        }
+    }
+
+
+    /**
+     * 水平表格流水线取值
+     * 读取线程 --有界队列--> 工作线程（逐块赋值、校验）--按块序号的环形缓冲--> 调用线程（合并、重复性检查、批次回调）
+     * 1. 读取线程取得许可后才交出块，调用线程合并后归还，未合并的块不超过queueCapacity个
+     * 2. 各块按HorizontalRowChunk取值，停止、异常及重复性检查按行顺序合并，结果与逐行取值一致
+     * 3. 调用线程结束（含异常）后cancel()，读取、工作阶段在下一次等待时退出
+     * 4. 读取阶段使用独立的守护线程；工作阶段由options.executor执行，未设置时新建守护线程；
+     *    调用线程所需的块未完成且有待赋值的块时自行赋值，线程池线程不足时仍可完成
+     * @param <T> 实体泛型
+     */
+    private class HorizontalPipeline<T> {
+        private final HorizontalBatchCollector<T> collector;
+        private final Iterator<RowData> rows;
+        private final boolean enableDuplicateCheck;
+        private final int blockRows;
+        private final int workers;
+        private final PipelineStats stats;
+        private final Executor executor;
+        private final BlockingQueue<RowBlock> blocks;
+        private final Semaphore permits;
+        // 按块序号取模存放工作线程的结果，由自身监视器保护
+        private final Object[] ring;
+        private final AtomicInteger firstEventRow = new AtomicInteger(Integer.MAX_VALUE);
+        private volatile boolean cancelled;
+        // 读取结束后的块总数，读取中为-1
+        private int blockCount = -1;
+        private Throwable readFailure;
+        private Throwable workerFailure;
+
+        HorizontalPipeline(HorizontalBatchCollector<T> collector, Iterator<RowData> rows, boolean enableDuplicateCheck, PipelineOptions options) {
+            this.collector = collector;
+            this.rows = rows;
+            this.enableDuplicateCheck = enableDuplicateCheck;
+            this.blockRows = options.getBlockRows();
+            this.workers = options.getWorkers();
+            this.stats = options.getStats();
+            this.executor = options.getExecutor();
+            // 预留各工作线程的结束标记
+            this.blocks = new ArrayBlockingQueue<>(options.getQueueCapacity() + workers);
+            this.permits = new Semaphore(options.getQueueCapacity());
+            this.ring = new Object[options.getQueueCapacity()];
+        }
+
+        /**
+         * 启动读取、工作线程，在调用线程按行顺序合并
+         * @param detector 重复性检查，开启重复性检查时不可为null
+         * @return 数据总条数
+         */
+        int run(DuplicateDetector detector) throws IllegalStatementsException {
+            int sheetNo = collector.sheetNo;
+            try {
+                // 读取阶段始终使用独立线程，不占用线程池
+                startThread(this::read, "getexcelutil-pipeline-read-" + sheetNo);
+            } catch (RuntimeException | Error e) {
+                // 读取阶段未启动，由调用线程关闭行读取
+                closeRows(rows);
+                throw e;
+            }
+            for (int i = 0; i < workers; i++) {
+                if (executor != null) {
+                    executor.execute(this::bind);
+                } else {
+                    startThread(this::bind, "getexcelutil-pipeline-bind-" + sheetNo + "-" + i);
+                }
+            }
+
+            for (int seq = 0; ; seq++) {
+                HorizontalRowChunk<T> chunk = take(seq);
+                if (chunk == null) {
+                    break;
+                }
+                long begin = System.nanoTime();
+                List<T> list = chunk.getList();
+                for (int i = 0; i < list.size(); i++) {
+                    if (detector != null) {
+                        chunk.deferred.replay(detector, sheetNo, i);
+                    }
+                    collector.accept(list.get(i), chunk.from + i);
+                }
+                stats.getSink().recordBusy(list.size(), System.nanoTime() - begin);
+                permits.release();
+
+                if (chunk.error instanceof IllegalStatementsException) {
+                    throw (IllegalStatementsException) chunk.error;
+                }
+                if (chunk.error != null) {
+                    throw (RuntimeException) chunk.error;
+                }
+                if (chunk.stopped) {
+                    break;
+                }
+            }
+            return collector.finish();
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        private void startThread(Runnable stage, String name) {
+            Thread thread = new Thread(stage, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * 读取线程：按块交出连续的数据行，遇缺失行（即空行）或已有块停止时结束
+         */
+        private void read() {
+            int seq = 0;
+            int expected = collector.startRow;
+            List<RowData> block = new ArrayList<>(blockRows);
+            Throwable failure = null;
+            try {
+                try {
+                    long begin = System.nanoTime();
+                    while (!cancelled && rows.hasNext()) {
+                        RowData row = rows.next();
+                        int rowNum = row.getRowNum();
+                        // 流式读取时保留@DynamicRank、@ExcelColumn的表头行
+                        if (rowNum < collector.startRow) {
+                            if (collector.titleRanks.contains(rowNum)) {
+                                collector.titleRows.put(rowNum, row);
+                            }
+                            if (rowNum == collector.startRow - 1) {
+                                collector.headerRow = row;
+                            }
+                            continue;
+                        }
+                        if (rowNum != expected || rowNum >= firstEventRow.get()) {
+                            break;
+                        }
+                        block.add(row);
+                        expected++;
+                        if (block.size() == blockRows) {
+                            stats.getRead().recordBusy(block.size(), System.nanoTime() - begin);
+                            if (!offer(new RowBlock(seq, expected - block.size(), block))) {
+                                return;
+                            }
+                            seq++;
+                            block = new ArrayList<>(blockRows);
+                            begin = System.nanoTime();
+                        }
+                    }
+                    stats.getRead().recordBusy(block.size(), System.nanoTime() - begin);
+                } finally {
+                    closeRows(rows);
+                }
+            } catch (Throwable e) {
+                // 解析异常前已读取的行仍按顺序合并
+                failure = e;
+            } finally {
+                // 已取消时offer直接放弃；无论结束原因均公布块总数，调用线程不会无限等待
+                if (!block.isEmpty() && offer(new RowBlock(seq, expected - block.size(), block))) {
+                    seq++;
+                }
+                synchronized (ring) {
+                    blockCount = seq;
+                    readFailure = failure;
+                    ring.notifyAll();
+                }
+                for (int i = 0; i < workers; i++) {
+                    blocks.offer(RowBlock.END);
+                }
+            }
+        }
+
+        /**
+         * 取得许可后交出块，已取消时放弃
+         */
+        private boolean offer(RowBlock block) {
+            long begin = System.nanoTime();
+            try {
+                while (!cancelled) {
+                    if (permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                        blocks.put(block);
+                        // 唤醒等待中的调用线程，由其在工作线程未及时取块时赋值
+                        synchronized (ring) {
+                            ring.notifyAll();
+                        }
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stats.getRead().recordWait(System.nanoTime() - begin);
+            }
+            return false;
+        }
 
-        // Mark try-with-resource机制，资源关闭交由java管理 （资源类需实现Closeable或AutoCloseable接口）
-        try (BufferedInputStream inputStream = new BufferedInputStream(file.getInputStream());
-             Workbook workbook = createWorkbook(inputStream)) {
-            if (sheetNum > workbook.getNumberOfSheets()) {
-                throw new SheetNumOutOfBoundsException("文件工作表个数小于欲读取的数量！");
-            }
-            sheets = new Sheet[sheetNum];
-            for (int i = 0; i < sheetNum; i++) {
-                // 有隐藏的sheet不读取
-                if (workbook.getSheetVisibility(i).equals(SheetVisibility.HIDDEN)) {
-                    throw new IllegalArgumentException("不允许存在隐藏的工作表！");
+        /**
+         * 工作线程：逐块赋值、校验，结果按块序号放入环形缓冲
+         */
+        private void bind() {
+            try {
+                while (!cancelled) {
+                    long begin = System.nanoTime();
+                    RowBlock block = blocks.poll(100, TimeUnit.MILLISECONDS);
+                    stats.getBind().recordWait(System.nanoTime() - begin);
+                    if (block == RowBlock.END) {
+                        return;
+                    }
+                    if (block == null) {
+                        continue;
+                    }
+                    bindBlock(block);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                synchronized (ring) {
+                    workerFailure = e;
+                    ring.notifyAll();
                 }
-                sheets[i] = workbook.getSheetAt(i);
             }
         }
-        return this;
-    }
 
-    private Workbook createWorkbook(BufferedInputStream bis) throws IOException {
-        switch (FileMagic.valueOf(bis)) {
-            case OOXML:
-                return new XSSFWorkbook(bis);
-            case OLE2:
-                return new HSSFWorkbook(bis);
-            default:
-                throw new IllegalArgumentException("未预期的文件格式：" + FileMagic.valueOf(bis));
+        /**
+         * 逐行赋值、校验一块，结果按块序号放入环形缓冲
+         */
+        private void bindBlock(RowBlock block) {
+            long begin = System.nanoTime();
+            HorizontalRowChunk<T> chunk = new HorizontalRowChunk<>(rowNum -> block.rows.get(rowNum - block.from),
+                    collector.sheetNo, collector.startRow, collector.startColumn, collector.clazz,
+                    enableDuplicateCheck ? new DeferredDuplicateDetector() : null, collector.stringPools, block.from, block.from + block.rows.size(), firstEventRow);
+            chunk.titleRows.putAll(collector.titleRows);
+            chunk.headerRow = collector.headerRow;
+            chunk.run();
+            stats.getBind().recordBusy(block.rows.size(), System.nanoTime() - begin);
+            synchronized (ring) {
+                ring[block.seq % ring.length] = chunk;
+                ring.notifyAll();
+            }
+        }
+
+        /**
+         * 等待第seq块的结果
+         * 此块未完成且队列中有待赋值的块时，由调用线程取块赋值，进度不依赖工作线程是否得以执行
+         * @return 结果，读取已结束且无此块时返回null
+         */
+        @SuppressWarnings("unchecked")
+        private HorizontalRowChunk<T> take(int seq) {
+            long begin = System.nanoTime();
+            // 调用线程赋值的耗时，不计入等待
+            long binding = 0;
+            int slot = seq % ring.length;
+            try {
+                while (true) {
+                    synchronized (ring) {
+                        if (ring[slot] != null) {
+                            HorizontalRowChunk<T> chunk = (HorizontalRowChunk<T>) ring[slot];
+                            ring[slot] = null;
+                            return chunk;
+                        }
+                        if (workerFailure instanceof RuntimeException) {
+                            throw (RuntimeException) workerFailure;
+                        }
+                        if (workerFailure != null) {
+                            throw (Error) workerFailure;
+                        }
+                        if (blockCount >= 0 && seq >= blockCount) {
+                            if (readFailure instanceof RuntimeException) {
+                                throw (RuntimeException) readFailure;
+                            }
+                            if (readFailure instanceof Error) {
+                                throw (Error) readFailure;
+                            }
+                            if (readFailure != null) {
+                                throw new RuntimeException(readFailure);
+                            }
+                            return null;
+                        }
+                        // 队列为空或仅剩结束标记时，此块由工作线程赋值中或尚未读取，等待其完成或交出
+                        RowBlock head = blocks.peek();
+                        if (head == null || head == RowBlock.END) {
+                            ring.wait();
+                            continue;
+                        }
+                    }
+                    RowBlock block = blocks.poll();
+                    if (block == RowBlock.END) {
+                        // 工作线程已先取走待赋值的块，结束标记留给工作线程
+                        blocks.offer(block);
+                    } else if (block != null) {
+                        long bindBegin = System.nanoTime();
+                        bindBlock(block);
+                        binding += System.nanoTime() - bindBegin;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                stats.getSink().recordWait(System.nanoTime() - begin - binding);
+            }
         }
     }
 
 
     /**
-     * 设置获取日期格式
-     * @param datePattern
-     *  - 默认yyyy/MM/dd
-     * @return this
+     * 流水线中交给工作线程的连续数据行
      */
-    public GetExcelUtil4 setDatePattern(String datePattern) {
-        this.datePattern = datePattern;
-        return this;
-    }
+    private static final class RowBlock {
+        static final RowBlock END = new RowBlock(-1, -1, Collections.emptyList());
 
+        final int seq;
+        final int from;
+        final List<RowData> rows;
 
-    /**
-     * 设置获取的数字格式
-     * @param numberFormat
-     *  - 默认#.####
-     * @return this
-     */
-    public GetExcelUtil4 setNumberFormat(String numberFormat) {
-        this.numberFormat = numberFormat;
-        return this;
+        RowBlock(int seq, int from, List<RowData> rows) {
+            this.seq = seq;
+            this.from = from;
+            this.rows = rows;
+        }
     }
 
 
     /**
-     * 设置开始标志，采用批注
-     * @param startTag
-     * @return this
+     * 按需逐行取值，同一时刻仅持有一个待取出的实体
      */
-    public GetExcelUtil4 setStartTag(String startTag) {
-        this.startTag = startTag;
-        return this;
-    }
+    private class HorizontalRowIterator<T> extends HorizontalRowBinder<T> implements Iterator<T> {
+        private Iterator<RowData> rows;
+        private T pending;
+        private boolean finished;
 
+        HorizontalRowIterator(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) {
+            super(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+        }
 
-    /**
-     * 设置结束标志
-     * @param endTag
-     * @return this
-     */
-    public GetExcelUtil4 setEndTag(String endTag) {
-        this.endTag = endTag;
-        return this;
-    }
+        @Override
+        boolean accept(T t, int rowNum) {
+            pending = t;
+            return true;
+        }
 
+        @Override
+        public boolean hasNext() {
+            while (pending == null && !finished) {
+                finished = !rows.hasNext() || !handle(rows.next());
+            }
+            if (statementsException != null) {
+                throw new RuntimeException(statementsException);
+            }
+            if (finished && pending == null) {
+                closeRows(rows);
+                closeDetector();
+                return false;
+            }
+            return true;
+        }
 
-    /**
-     * 获取sheet名
-     * @param sheetNo 第几个sheet (1-based)
-     * @return sheet名
-     */
-    public String getSheetName(int sheetNo) {
-        if (sheetNo > sheets.length) {
-            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T t = pending;
+            pending = null;
+            return t;
         }
-        return sheets[sheetNo - 1].getSheetName();
     }
 
-
     /**
-     * 数据重复性检查
-     * desc:
-     *  1. 依赖于实体类equals方法的实现
-     *  2. 需要遍历已获取到的数据集，会影响取值效率，非必要不开启
-     *
-     * @param checkRepeat
+     * 分批交由回调处理，同一时刻仅持有一批数据
      */
+    private class HorizontalBatchCollector<T> extends HorizontalRowBinder<T> {
+        private final int batchSize;
+        private final BatchSink<T> sink;
+        private List<T> batch;
+        private int[] rowNums;
+        private int count;
+
+        HorizontalBatchCollector(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, int batchSize, BatchSink<T> sink) {
+            super(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+            this.batchSize = batchSize;
+            this.sink = sink;
+            this.batch = new ArrayList<>(batchSize);
+            this.rowNums = new int[batchSize];
+        }
 
-    /**
-     * 获取批注
-     * @param rowNo
-     *  - 行号
-     * @param columnNo
-     *  - 列号
-     * @return 对应位置的批注
-     */
-    private String getComment(int sheetNo, int rowNo, int columnNo) {
-        if (sheetNo > sheets.length) {
-            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        @Override
+        boolean accept(T t, int rowNum) {
+            rowNums[batch.size()] = rowNum;
+            batch.add(t);
+            count++;
+            if (batch.size() == batchSize) {
+                flush();
+            }
+            return true;
         }
-        CellAddress cellAddress = new CellAddress(rowNo - 1, columnNo - 1);
-        return sheets[sheetNo - 1].getCellComment(cellAddress).getString().toString();
-    }
 
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            // 回调方可能保留批次，每批使用新的容器
+            List<T> full = batch;
+            int[] fullRowNums = Arrays.copyOf(rowNums, full.size());
+            batch = new ArrayList<>(batchSize);
+            sink.accept(full, fullRowNums);
+        }
 
-    /**
-     * 获取数据水平分布的表格的内容
-     * 默认不进行重复性检查
-     */
-    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
-        return getHorizontalData(sheetNo, startRow, startColumn, clazz, false);
+        /**
+         * 提交最后一批数据
+         * @return 数据总条数
+         */
+        int finish() throws IllegalStatementsException {
+            if (statementsException != null) {
+                throw statementsException;
+            }
+            flush();
+            return count;
+        }
     }
 
 
     /**
-     * 获取数据水平分布的表格的内容
-     * @param sheetNo 第几个sheet
-     * @param startRow 起始行
-     * @param startColumn 起始列
-     * @param clazz 接收实体类型
-     * @param enableDuplicateCheck 数据重复性检查
-     *        1. 依赖于实体类equals方法的实现
-     *        2. 需要遍历已获取到的数据集，会影响取值效率，非必要不开启
-     * @param <T> 实体泛型
-     * @throws IllegalStatementsException
-     *      {@link com.foxconn.indint.utils.getexcelutil.annotation.ExcelNumberFormat}注解的when条件判定时，表达式格式不对，
-     *      或表达式字段不存在时会抛出的异常
-     * @throws SheetNoOutOfBoundsException
-     *      读取的sheet序号溢出
-     * @throws EmptyExcelFileException
-     *
-     *
-     * setField方法抛出的
-     * @return 目标sheet数据
+     * @DynamicRank表头布局
+     * 表头起始位置至第一个空表头前的表头单元格，按表头行（/列）解析一次，所有数据行（/列）复用
      */
-    @SuppressWarnings("unchecked")
-    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
-        if (sheetNo > sheets.length) {
-            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+    private static final class DynamicHeader {
+        final int titleRank;
+        final int start;
+        final CellData[] titles;
+
+        private DynamicHeader(int titleRank, int start, List<CellData> titles) {
+            this.titleRank = titleRank;
+            this.start = start;
+            this.titles = titles.toArray(new CellData[0]);
         }
 
-        String startCommon;
-        try {
-            startCommon = getComment(sheetNo, startRow - 1, startColumn);
-        } catch (NullPointerException e) {
-            throw new IllegalArgumentException("无法适配起始行！");
-        }
-        if (StringUtils.isNotEmpty(startTag) && !startTag.equals(startCommon)) {
-            throw new IllegalArgumentException("无法适配起始行！");
+        /**
+         * 水平表格：表头行中自开始列起的表头
+         */
+        static DynamicHeader ofRow(RowData titleRow, int startColumn) {
+            List<CellData> titles = new ArrayList<>();
+            for (int columnNum = startColumn; columnNum <= titleRow.getLastCellNum(); columnNum++) {
+                CellData title = titleRow.getCell(columnNum);
+                // 表头遇空时结束
+                if (title == null || title.isBlank()) break;
+                titles.add(title);
+            }
+            return new DynamicHeader(titleRow.getRowNum(), startColumn, titles);
         }
 
-        List<T> list = new ArrayList<>();
-        Sheet sheet = sheets[sheetNo - 1];
-
-        if (isBaseType(clazz)) {
-            for (int rowNum = startRow; rowNum <= sheet.getLastRowNum() + 1; rowNum++) {
-                Row row = sheet.getRow(rowNum - 1);
-                Cell cell = row.getCell(startColumn - 1);
+        /**
+         * 垂直表格：表头列中自开始行起的表头
+         */
+        static DynamicHeader ofColumn(ExcelSheet sheet, int titleColumn, int startRow) {
+            List<CellData> titles = new ArrayList<>();
+            // 表头列最后一个非空单元格之后均为空
+            int lastRowNum = sheet.getColumnOccupancy().getLastRowNum(titleColumn);
+            for (int rowNum = startRow; rowNum <= lastRowNum; rowNum++) {
+                CellData title = sheet.getCell(rowNum, titleColumn);
+                // 表头遇空时结束
+                if (title == null || title.isBlank()) break;
+                titles.add(title);
+            }
+            return new DynamicHeader(titleColumn, startRow, titles);
+        }
+    }
 
-                if (isEmptyCell(cell)) break;
 
-                String cellVal = getCellVal(cell);
+    /**
+     * 按字段收集为列，不保留实体
+     */
+    private class HorizontalColumnCollector<T> extends HorizontalRowBinder<T> {
+        private final DataColumn[] columns;
+        private final List<Function<Object, Object>> getters;
+        private final ColumnarData data;
+        // 无when条件时复用的实体，每行所有字段均重新赋值
+        private final T reusable;
+
+        HorizontalColumnCollector(int sheetNo, int startRow, int startColumn, Class<T> clazz) {
+            super(sheetNo, startRow, startColumn, clazz, false);
+            if (!titleRanks.isEmpty()) {
+                throw new IllegalArgumentException("列式取值不支持@DynamicRank字段！");
+            }
 
-                // 重复性检查
-                if (enableDuplicateCheck && list.size() > 0) {
-                    for (int i = 0; i < list.size(); i ++) {
-                        if (cellVal.equals(list.get(i).toString())) {
-                            throw new DataDuplicationException("文件工作表" + sheetNo + "第" + (i + startRow) + "行与第" + rowNum + "行重复！");
-                        }
+            if (plan.isBaseType()) {
+                this.columns = new DataColumn[]{DataColumn.of(numberToAlphabet(startColumn), clazz)};
+                this.getters = null;
+                this.reusable = null;
+            } else {
+                FieldBinding[] fields = plan.getFields();
+                this.columns = new DataColumn[fields.length];
+                this.getters = new ArrayList<>(Collections.nCopies(fields.length, null));
+                for (int i = 0; i < fields.length; i++) {
+                    if (fields[i].isIgnored()) {
+                        continue;
+                    }
+                    columns[i] = DataColumn.of(fields[i].getName(), fields[i].getType());
+                    try {
+                        getters.set(i, plan.getGetter(fields[i].getName()));
+                    } catch (IntrospectionException e) {
+                        throw new RuntimeException(e);
                     }
                 }
-
-                list.add((T) ConvertUtils.convert(cellVal, clazz));
+                this.reusable = plan.hasWhenConditions() ? null : plan.newInstance();
             }
-        } else {
-            for (int rowNum = startRow; rowNum <= sheet.getLastRowNum() + 1; rowNum++) {
-                Row row = sheet.getRow(rowNum - 1);
-                Field[] fields = clazz.getDeclaredFields();
-                int fieldsLen = fields.length;
-
-                // 空行退出
-                if (isEmptyRow(row)) break;
-
-                // 有结束标志，且行第一个值为结束标志时结束
-                if (StringUtils.isNotEmpty(endTag) && endTag.equals(getCellVal(row.getCell(startColumn - 1)))) {
-                    break;
-                }
 
-                T t;
-                try {
-                    t = clazz.newInstance();
-                } catch (InstantiationException | IllegalAccessException e) {
-                    throw new RuntimeException(e);
+            List<DataColumn> present = new ArrayList<>();
+            for (DataColumn column : columns) {
+                if (column != null) {
+                    present.add(column);
                 }
-                int fieldIndex = 0;
-                int columnNum = startColumn;
+            }
+            this.data = new ColumnarData(present.toArray(new DataColumn[0]));
+        }
 
-                while (fieldIndex < fieldsLen) {
-                    // 忽略接收实体类中的字段，跳过数组长度辅助字段
-                    if (fields[fieldIndex].isAnnotationPresent(ValueIngnore.class)) {
-                        fieldIndex++;
-                        continue;
-                    }
-                    // 字段赋值
-                    int assignedCellNum = setHorizontalField(t, clazz, fields[fieldIndex], row.getCell(columnNum - 1), sheetNo, rowNum, columnNum);
-                    columnNum += assignedCellNum;
-                    fieldIndex ++;
-                }
+        @Override
+        T newTarget() {
+            return reusable != null ? reusable : super.newTarget();
+        }
 
-                // 重复性检查
-                if (enableDuplicateCheck && list.size() > 0) {
-                    for (int i = 0; i < list.size(); i ++) {
-                        if (t.equals(list.get(i))) {
-                            throw new DataDuplicationException("文件工作表" + sheetNo + "第" + (i + startRow) + "行与第" + rowNum + "行重复！");
-                        }
+        @Override
+        boolean accept(T t, int rowNum) {
+            if (getters == null) {
+                columns[0].append(t);
+            } else {
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i] != null) {
+                        columns[i].append(getters.get(i).apply(t));
                     }
                 }
-
-                list.add(t);
             }
+            data.nextRow();
+            return true;
         }
 
-        if (list.size() == 0) {
-            throw new EmptyExcelFileException("文件读取数据区域内容为空！");
+        ColumnarData getData() throws IllegalStatementsException {
+            if (statementsException != null) {
+                throw statementsException;
+            }
+            return data;
         }
-
-        return list;
     }
 
 
@@ -343,37 +1936,39 @@ public class GetExcelUtil4 implements Serializable {
      * 实体类赋值
      *  包含注解防呆
      * @param o - 进行变量赋值的实体类
-     * @param classType - 实体类的Class
      * @param field - 赋值字段
-     * @param cell - 对应的Excel单元
-     * @param rowNum - 行序号
+     * @param row - 当前行
+     * @param titleRows - @DynamicRank表头行
+     * @param headers - @DynamicRank表头布局缓存
+     * @param stringPools - 本次取值的字符串去重池
      * @param columnNum - 列序号
      * @return 操作cell数
      */
-    private int setHorizontalField(Object o, Class<?> classType, Field field, Cell cell, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
-        Object fieldValue;
+    private int setHorizontalField(Object o, FieldBinding field, RowData row, Map<Integer, RowData> titleRows, Map<Integer, DynamicHeader> headers, StringPools stringPools, int sheetNo, int columnNum) throws IllegalStatementsException {
         int assignedCell;
 
-        if (field.isAnnotationPresent(DynamicRank.class)) {
-            ParameterizedType types = (ParameterizedType) field.getGenericType();
-            Type type = types.getActualTypeArguments()[0];
-
-            DynamicRank dynamicRank = field.getAnnotation(DynamicRank.class);
-            int[] rows = {dynamicRank.titleRank(), rowNum};
+        if (field.isDynamicRank()) {
+            DynamicRank dynamicRank = field.getDynamicRank();
+            DynamicHeader header = headers.get(dynamicRank.titleRank());
+            if (header == null || header.start != columnNum) {
+                RowData titleRow = titleRows.get(dynamicRank.titleRank());
+                if (titleRow == null) {
+                    throw new IllegalArgumentException("无法获取动态表头，表头行需位于数据行之前！");
+                }
+                header = DynamicHeader.ofRow(titleRow, columnNum);
+                headers.put(dynamicRank.titleRank(), header);
+            }
             boolean enableDuplicateCheck = dynamicRank.enableDuplicateCheck();
 
-            List<Object> list = getHorizontalDynamicRank(sheetNo, rows, columnNum, (Class<?>) type, enableDuplicateCheck);
-            fieldValue = list;
+            List<Object> list = getHorizontalDynamicRank(sheetNo, header, row, field.getElementType(), enableDuplicateCheck, stringPools);
+            // 赋值
+            field.set(o, list);
             assignedCell = list.size();
         } else {
-            // 获取通过注解校验的值
-            fieldValue = getVerifiedCellVal(o, classType, field, cell, sheetNo, rowNum, columnNum);
+            setField(o, field, row.getCell(columnNum), stringPools, sheetNo, row.getRowNum(), columnNum);
             assignedCell = 1;
         }
 
-        // 赋值
-        setFieldValue(o, classType, field, fieldValue);
-
         return assignedCell;
     }
 
@@ -381,55 +1976,54 @@ public class GetExcelUtil4 implements Serializable {
     /**
      * 获取水平表格动态栏位
      * @param sheetNo sheet序号
-     * @param rows 要获取动态栏位的行（必包括当前行，可包括表头栏等）
-     * @param startColumn 开始列
+     * @param header 表头布局
+     * @param row 当前行
      * @param clazz 实体类类型
-     * @param enableDuplicateCheck 重复性检查，依赖于实体类equals方法的实现
+     * @param enableDuplicateCheck 重复性检查，依赖于实体类equals、hashCode方法的实现或@UniqueKey字段
+     * @param stringPools 本次取值的字符串去重池
      * @return 动态栏位数据
      * @throws IllegalStatementsException 必解决异常
      */
-    private List<Object> getHorizontalDynamicRank(int sheetNo, int[] rows, int startColumn, Class<?> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
-        List<Object> list = new ArrayList<>();
-        Sheet sheet = sheets[sheetNo - 1];
-
-        // -1表示不限制，取到底
-        int endColumn = sheet.getRow(rows[0] - 1).getLastCellNum();
+    private List<Object> getHorizontalDynamicRank(int sheetNo, DynamicHeader header, RowData row, Class<?> clazz, boolean enableDuplicateCheck, StringPools stringPools) throws IllegalStatementsException {
+        List<Object> list = new ArrayList<>(header.titles.length);
 
-        Field[] fields = clazz.getDeclaredFields();
+        BindingPlan<?> plan = BindingPlan.of(clazz);
+        plan.verify();
+        FieldBinding[] fields = plan.getFields();
         int fieldsLen = fields.length;
+        DuplicateDetector detector = enableDuplicateCheck ? plan.newDuplicateDetector() : null;
 
-        // 遍历sheet中的列
-        for (int columnNum = startColumn; columnNum <= sheet.getRow(rows[0] - 1).getLastCellNum(); columnNum++) {
-            // 表头遇空时退出
-            if (isEmptyCell(sheet.getRow(rows[0] - 1).getCell(columnNum - 1))) break;
-
-            Object o;
-            try {
-                o = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+        // 遍历表头范围内的列
+        for (int i = 0; i < header.titles.length; i++) {
+            int columnNum = header.start + i;
+            Object o = plan.newInstance();
 
             int fieldIndex = 0;
-            for (int row : rows) {
+            // 依次为表头单元格、当前行单元格
+            for (int rank = 0; rank < 2; rank++) {
                 if (fieldIndex >= fieldsLen) break;
                 // 忽略接收实体类中的字段，跳过数组长度辅助字段
-                if (fields[fieldIndex].isAnnotationPresent(ValueIngnore.class)) {
+                if (fields[fieldIndex].isIgnored()) {
                     fieldIndex++;
                     continue;
                 }
-                setField(o, clazz, fields[fieldIndex], sheet.getRow(row - 1).getCell(columnNum - 1), sheetNo, row, columnNum);
+                if (rank == 0) {
+                    setField(o, fields[fieldIndex], header.titles[i], stringPools, sheetNo, header.titleRank, columnNum);
+                } else {
+                    setField(o, fields[fieldIndex], row.getCell(columnNum), stringPools, sheetNo, row.getRowNum(), columnNum);
+                }
 
                 fieldIndex++;
             }
 
             // 重复性检查
-            if (enableDuplicateCheck && list.size() > 0) {
-                for (int i = 0; i < list.size(); i ++) {
-                    if (o.equals(list.get(i))) {
-                        throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(i + startColumn) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
-                    }
+            if (enableDuplicateCheck) {
+                Object key = plan.getDuplicateKey(o);
+                int first = detector.indexOf(key);
+                if (first >= 0) {
+                    throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(first) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
                 }
+                detector.add(key, columnNum);
             }
 
             list.add(o);
@@ -459,77 +2053,95 @@ public class GetExcelUtil4 implements Serializable {
      */
     @SuppressWarnings("unchecked")
     public <T> List<T> getVerticalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
-        if (sheetNo > sheets.length) {
+        if (sheetNo > sheets.getNumberOfSheets()) {
             throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
         }
 
-        if (StringUtils.isNotEmpty(startTag) && startTag.equals(getComment(sheetNo, startRow, startColumn))) {
+        ExcelSheet sheet = getVerticalSheet(sheetNo);
+        if (StringUtils.isNotEmpty(startTag) && startTag.equals(sheet.getComment(startRow, startColumn))) {
             throw new IllegalArgumentException("无法适配起始列！");
         }
 
         List<T> list = new ArrayList<>();
-        Sheet sheet = sheets[sheetNo - 1];
-
-        if (isBaseType(clazz)) {
-            for (int columnNum = startColumn; columnNum <= sheet.getRow(startRow - 1).getLastCellNum(); columnNum++) {
-                Row row = sheet.getRow(startRow - 1);
-                Cell cell = row.getCell(columnNum - 1);
+        BindingPlan<T> plan = BindingPlan.of(clazz);
+        plan.verify();
+        DuplicateDetector detector = enableDuplicateCheck ? plan.newDuplicateDetector() : null;
+        // @DynamicRank表头布局，所有数据列复用
+        Map<Integer, DynamicHeader> headers = new HashMap<>();
+        StringPools stringPools = new StringPools();
+
+        if (plan.isBaseType()) {
+            RowData row = sheet.getRow(startRow);
+            for (int columnNum = startColumn; columnNum <= row.getLastCellNum(); columnNum++) {
+                CellData cell = row.getCell(columnNum);
 
                 if (isEmptyCell(cell)) break;
 
                 String cellVal = getCellVal(cell);
 
                 // 重复性检查
-                if (enableDuplicateCheck && list.size() > 0) {
-                    for (int i = 0; i < list.size(); i ++) {
-                        if (cellVal.equals(list.get(i).toString())) {
-                            throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(i + startColumn) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
-                        }
+                if (enableDuplicateCheck) {
+                    int first = detector.indexOf(cellVal);
+                    if (first >= 0) {
+                        throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(first) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
                     }
                 }
 
-                list.add((T) ConvertUtils.convert(cellVal, clazz));
+                T t = (T) ConvertUtils.convert(cellVal, clazz);
+                if (enableDuplicateCheck) {
+                    detector.add(String.valueOf(t), columnNum);
+                }
+                list.add(t);
             }
         } else {
-            // 遍历sheet中的列
-            for (int columnNum = startColumn; columnNum <= sheet.getRow(startRow - 1).getLastCellNum(); columnNum++) {
+            ColumnOccupancy occupancy = sheet.getColumnOccupancy();
+            // @ExcelColumn字段按起始列前一列的表头匹配行，表头列最后一个非空单元格之后无表头
+            int[] namedRows = plan.hasNamedColumns()
+                    ? resolveNamedPositions(plan, rowNum -> sheet.getCell(rowNum, startColumn - 1), occupancy.getLastRowNum(startColumn - 1), sheetNo)
+                    : null;
+
+            // 遍历sheet中的列，最后一个非空列之后均为空列
+            int lastCellNum = Math.min(sheet.getRow(startRow).getLastCellNum(), occupancy.getLastColumnNum());
+            for (int columnNum = startColumn; columnNum <= lastCellNum; columnNum++) {
                 // 全空列时跳出
                 if (isEmptyColumn(sheet, columnNum)) break;
 
                 // 有结束标志，且行第一个值为结束标志时结束
-                if (StringUtils.isNotEmpty(endTag) && endTag.equals(getCellVal(sheet.getRow(startRow - 1).getCell(columnNum - 1)))) {
+                if (StringUtils.isNotEmpty(endTag) && endTag.equals(getCellVal(sheet.getCell(startRow, columnNum)))) {
                     break;
                 }
 
-                T t;
-                try {
-                    t = clazz.newInstance();
-                } catch (InstantiationException | IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                }
-                Field[] fields = clazz.getDeclaredFields();
+                T t = plan.newInstance();
+                FieldBinding[] fields = plan.getFields();
                 int fieldsLen = fields.length;
                 int fieldIndex = 0;
                 int rowNum = startRow;
 
                 while (fieldIndex < fieldsLen) {
                     // 忽略接收实体类中的字段，跳过数组长度辅助字段
-                    if (fields[fieldIndex].isAnnotationPresent(ValueIngnore.class)) {
+                    if (fields[fieldIndex].isIgnored()) {
                         fieldIndex++;
                         continue;
                     }
-                    int assignedCellNum = setVerticalField(t, clazz, fields[fieldIndex], sheet.getRow(rowNum - 1).getCell(columnNum - 1), sheetNo, rowNum, columnNum);
+                    int assignedCellNum;
+                    if (namedRows != null && namedRows[fieldIndex] > 0) {
+                        setField(t, fields[fieldIndex], sheet.getCell(namedRows[fieldIndex], columnNum), stringPools, sheetNo, namedRows[fieldIndex], columnNum);
+                        assignedCellNum = 1;
+                    } else {
+                        assignedCellNum = setVerticalField(t, fields[fieldIndex], sheet, sheet.getCell(rowNum, columnNum), headers, stringPools, sheetNo, rowNum, columnNum);
+                    }
                     rowNum += assignedCellNum;
                     fieldIndex ++;
                 }
 
                 // 重复性检查
-                if (enableDuplicateCheck && list.size() > 0) {
-                    for (int i = 0; i < list.size(); i ++) {
-                        if (t.equals(list.get(i))) {
-                            throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(i + startColumn) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
-                        }
+                if (enableDuplicateCheck) {
+                    Object key = plan.getDuplicateKey(t);
+                    int first = detector.indexOf(key);
+                    if (first >= 0) {
+                        throw new DataDuplicationException("文件工作表" + sheetNo + "第" + numberToAlphabet(first) + "列与第" + numberToAlphabet(columnNum) + "列重复！");
                     }
+                    detector.add(key, columnNum);
                 }
 
                 list.add(t);
@@ -548,92 +2160,93 @@ public class GetExcelUtil4 implements Serializable {
      * 实体类赋值
      *  包含注解防呆
      * @param o - 进行变量赋值的实体类
-     * @param classType - 实体类的Class
      * @param field - 赋值字段
+     * @param sheet - 取值的工作表
      * @param cell - 对应的Excel单元
+     * @param headers - @DynamicRank表头布局缓存
+     * @param stringPools - 本次取值的字符串去重池
      * @param rowNum - 行序号
      * @param columnNum - 列序号
      * @return 操作cell数
      */
-    private int setVerticalField(Object o, Class<?> classType, Field field, Cell cell, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
-        Object fieldValue;
+    private int setVerticalField(Object o, FieldBinding field, ExcelSheet sheet, CellData cell, Map<Integer, DynamicHeader> headers, StringPools stringPools, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
         int assignedCell;
 
-        if (field.isAnnotationPresent(DynamicRank.class)) {
-            ParameterizedType types = (ParameterizedType) field.getGenericType();
-            Type type = types.getActualTypeArguments()[0];
-
-            DynamicRank dynamicRank = field.getAnnotation(DynamicRank.class);
-            int[] columns = {dynamicRank.titleRank(), columnNum};
+        if (field.isDynamicRank()) {
+            DynamicRank dynamicRank = field.getDynamicRank();
+            DynamicHeader header = headers.get(dynamicRank.titleRank());
+            if (header == null || header.start != rowNum) {
+                header = DynamicHeader.ofColumn(sheet, dynamicRank.titleRank(), rowNum);
+                headers.put(dynamicRank.titleRank(), header);
+            }
             boolean enableDuplicateCheck = dynamicRank.enableDuplicateCheck();
 
-            List<Object> list = getVerticalDynamicRank(sheetNo, rowNum, columns, (Class<?>) type, enableDuplicateCheck);
-            fieldValue = list;
+            List<Object> list = getVerticalDynamicRank(sheet, sheetNo, header, columnNum, field.getElementType(), enableDuplicateCheck, stringPools);
+            // 赋值
+            field.set(o, list);
             assignedCell = list.size();
         } else {
-            // 获取通过注解校验的值
-            fieldValue = getVerifiedCellVal(o, classType, field, cell, sheetNo, rowNum, columnNum);
+            setField(o, field, cell, stringPools, sheetNo, rowNum, columnNum);
             assignedCell = 1;
         }
 
-        // 赋值
-        setFieldValue(o, classType, field, fieldValue);
-
         return assignedCell;
     }
 
 
     /**
      * 获取垂直表格动态栏位
+     * @param sheet 取值的工作表
      * @param sheetNo sheet序号
-     * @param startRow 开始行
-     * @param columns 要获取动态栏位的列（必包括当前列，可包括表头栏等）
+     * @param header 表头布局
+     * @param columnNum 当前列
      * @param clazz 实体类类型
-     * @param enableDuplicateCheck 重复性检查，依赖于实体类equals方法的实现
+     * @param enableDuplicateCheck 重复性检查，依赖于实体类equals、hashCode方法的实现或@UniqueKey字段
+     * @param stringPools 本次取值的字符串去重池
      * @return 动态栏位数据
      * @throws IllegalStatementsException 必解决异常
      */
-    private List<Object> getVerticalDynamicRank(int sheetNo, int startRow, int[] columns, Class<?> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
-        List<Object> list = new ArrayList<>();
-        Sheet sheet = sheets[sheetNo - 1];
+    private List<Object> getVerticalDynamicRank(ExcelSheet sheet, int sheetNo, DynamicHeader header, int columnNum, Class<?> clazz, boolean enableDuplicateCheck, StringPools stringPools) throws IllegalStatementsException {
+        List<Object> list = new ArrayList<>(header.titles.length);
 
-        Field[] fields = clazz.getDeclaredFields();
+        BindingPlan<?> plan = BindingPlan.of(clazz);
+        plan.verify();
+        FieldBinding[] fields = plan.getFields();
         int fieldsLen = fields.length;
+        DuplicateDetector detector = enableDuplicateCheck ? plan.newDuplicateDetector() : null;
 
-        for (int rowNum = startRow; rowNum <= sheet.getLastRowNum() + 1; rowNum++) {
-            Row row = sheet.getRow(rowNum - 1);
-
-            // 表头遇空时退出
-            if (isEmptyCell(row.getCell(columns[0] - 1))) break;
-
-            Object o;
-            try {
-                o = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+        // 遍历表头范围内的行
+        for (int i = 0; i < header.titles.length; i++) {
+            int rowNum = header.start + i;
+            Object o = plan.newInstance();
 
             int fieldIndex = 0;
-            for (int column : columns) {
+            // 依次为表头单元格、当前列单元格
+            for (int rank = 0; rank < 2; rank++) {
                 if (fieldIndex >= fieldsLen) break;
                 // 忽略接收实体类中的字段，跳过数组长度辅助字段
-                if (fields[fieldIndex].isAnnotationPresent(ValueIngnore.class)) {
+                if (fields[fieldIndex].isIgnored()) {
                     fieldIndex++;
                     continue;
                 }
                 // 字段赋值
-                setField(o, clazz, fields[fieldIndex], row.getCell(column - 1), sheetNo, rowNum, column);
+                if (rank == 0) {
+                    setField(o, fields[fieldIndex], header.titles[i], stringPools, sheetNo, rowNum, header.titleRank);
+                } else {
+                    setField(o, fields[fieldIndex], sheet.getCell(rowNum, columnNum), stringPools, sheetNo, rowNum, columnNum);
+                }
 
                 fieldIndex++;
             }
 
             // 重复性检查
-            if (enableDuplicateCheck && list.size() > 0) {
-                for (int i = 0; i < list.size(); i ++) {
-                    if (o.equals(list.get(i))) {
-                        throw new DataDuplicationException("文件工作表" + sheetNo + "第" + (i + startRow) + "行与第" + rowNum + "行重复！");
-                    }
+            if (enableDuplicateCheck) {
+                Object key = plan.getDuplicateKey(o);
+                int first = detector.indexOf(key);
+                if (first >= 0) {
+                    throw new DataDuplicationException("文件工作表" + sheetNo + "第" + first + "行与第" + rowNum + "行重复！");
                 }
+                detector.add(key, rowNum);
             }
 
             list.add(o);
@@ -646,180 +2259,131 @@ public class GetExcelUtil4 implements Serializable {
      * 实体类赋值
      *  包含注解防呆
      * @param o - 进行变量赋值的实体类
-     * @param classType - 实体类的Class
      * @param field - 赋值字段
      * @param cell - 对应的Excel单元
+     * @param stringPools - 本次取值的字符串去重池
      * @param rowNum - 行序号
      * @param columnNum - 列序号
      */
-    private void setField(Object o, Class<?> classType, Field field, Cell cell, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
+    private void setField(Object o, FieldBinding field, CellData cell, StringPools stringPools, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
+        // 数字、日期单元格直接转化为字段类型
+        Object converted = convertCell(field, cell);
+        if (converted != CellConverter.UNSUPPORTED) {
+            field.setConverted(o, converted);
+            return;
+        }
         // 获取通过注解校验的值
-        Object fieldValue = getVerifiedCellVal(o, classType, field, cell, sheetNo, rowNum, columnNum);
-        // 赋值
-        setFieldValue(o, classType, field, fieldValue);
+        String fieldValue = getVerifiedCellVal(o, field, cell, sheetNo, rowNum, columnNum);
+        // 赋值，取值种类少的字符串字段共用同一实例
+        field.set(o, stringPools.intern(field, fieldValue));
+    }
+
+    /**
+     * 单元格直接转化为字段类型，不经过字符串
+     * @return 字段值，不适用时返回CellConverter.UNSUPPORTED
+     */
+    private Object convertCell(FieldBinding field, CellData cell) {
+        CellConverter converter = cell == null ? null : field.getCellConverter(cell.getCellType());
+        if (converter == null) {
+            return CellConverter.UNSUPPORTED;
+        }
+        String pattern = null != field.getNumberFormat() ? field.getNumberFormat().format() : numberFormat;
+        return converter.convert(cell, NumberPattern.of(pattern));
     }
 
     /**
      * 获取已通过注解防呆验证的String类型的Cell值
      * @param o - 操作的实体类
-     * @param classType - 实体类的Class
      * @param field - 赋值字段
      * @param cell - 对应的Excel单元
      * @param rowNum - 行序号
      * @param columnNum - 列序号
      */
-    private String getVerifiedCellVal(Object o, Class<?> classType, Field field, Cell cell, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
+    private String getVerifiedCellVal(Object o, FieldBinding field, CellData cell, int sheetNo, int rowNum, int columnNum) throws IllegalStatementsException {
         String cellVal = getCellVal(cell, field);
 
         String columnAlphabet = numberToAlphabet(columnNum);
         // 非空
-        if (field.isAnnotationPresent(NotNull.class)) {
-            NotNull valuePattern = field.getAnnotation(NotNull.class);
+        if (field.getNotNull() != null) {
+            NotNull valuePattern = field.getNotNull();
             if (StringUtils.isEmpty(cellVal)) {
                 throw new IllegalArgumentException("文件工作表" + sheetNo + "第" + rowNum + "行第" + columnAlphabet + "列：" + valuePattern.message());
             }
         }
 
         // 格式限定
-        if (field.isAnnotationPresent(ExcelDateFormat.class)) {
-            ExcelDateFormat edf = field.getAnnotation(ExcelDateFormat.class);
-            SimpleDateFormat sdf = new SimpleDateFormat(edf.pattern());
+        if (field.getDateFormat() != null) {
+            ExcelDateFormat edf = field.getDateFormat();
             try {
-                sdf.parse(cellVal);
+                FormatterRegistry.dateFormat(edf.pattern()).parse(cellVal);
             } catch (ParseException e) {
                 throw new IllegalArgumentException("文件工作表" + sheetNo + "第" + rowNum + "行第" + columnAlphabet + "列：" + edf.message());
             }
-        } else if (field.isAnnotationPresent(ExcelNumberFormat.class)) {
+        } else if (field.getNumberFormat() != null) {
             if (StringUtils.isEmpty(cellVal)) {
                 cellVal = "0";
             } else {
-                ExcelNumberFormat enf = field.getAnnotation(ExcelNumberFormat.class);
-                String when = enf.when();
-                if (StringUtils.isEmpty(when) || isWhen(o, classType, when)) {
-                    DecimalFormat df = new DecimalFormat(enf.format());
+                ExcelNumberFormat enf = field.getNumberFormat();
+                if (field.hasWhenCondition() && field.getStatementError() != null) {
+                    throw new IllegalStatementsException(field.getStatementError());
+                }
+                if (!field.hasWhenCondition() || field.matchesWhen(o)) {
                     try {
-                        df.format(new BigDecimal(cellVal));
+                        FormatterRegistry.decimalFormat(enf.format()).format(new BigDecimal(cellVal));
                     } catch (Exception e) {
                         throw new IllegalArgumentException("文件工作表" + sheetNo + "第" + rowNum + "行第" + columnAlphabet + "列：" + enf.message());
                     }
                 }
             }
-        } else if (field.isAnnotationPresent(ValueLimit.class)) {
-            ValueLimit vl = field.getAnnotation(ValueLimit.class);
-            String[] limit = vl.limit();
-            Set<String> set = new HashSet<>(Arrays.asList(limit));
-            if (!set.contains(cellVal)) {
-                throw new IllegalArgumentException("文件工作表" + sheetNo + "第" + rowNum + "行第" + columnAlphabet + "列：" + vl.message());
+        } else if (field.getValueLimit() != null) {
+            if (!field.isLimitValue(cellVal)) {
+                throw new IllegalArgumentException("文件工作表" + sheetNo + "第" + rowNum + "行第" + columnAlphabet + "列：" + field.getValueLimit().message());
             }
         }
 
         // 值转化
-        if (field.isAnnotationPresent(Transform.class)) {
-            Transform vl = field.getAnnotation(Transform.class);
-            String[] expressions = vl.expressions();
-
-            for (String expression : expressions) {
-                if (!expression.contains("->")) {
-                    throw new IllegalStatementsException("getexcelutil.annotation.Transform.expressions()：表达式“" + expression + "”缺失转化符号“->”");
-                }
-
-                String from = expression.substring(0, expression.indexOf("->")).trim();
-                String to = expression.substring(expression.indexOf("->") + 2).trim();
-
-                if (from.equals(cellVal)) {
-                    cellVal = to;
-                }
+        if (field.getTransform() != null) {
+            if (field.getStatementError() != null) {
+                throw new IllegalStatementsException(field.getStatementError());
             }
+            cellVal = field.transform(cellVal);
         }
 
         return cellVal;
     }
 
-    private boolean isWhen(Object target, Class<?> classType, String when) throws IllegalStatementsException {
-        if (!when.contains("==")) {
-            throw new IllegalStatementsException("getexcelutil.annotation.ExcelNumberFormat.when()：缺失条件连接符“==”");
-        }
-
-        String caseFieldName = when.substring(0, when.indexOf("==")).trim();
-        String caseValue = when.substring(when.indexOf("==") + 2).trim();
-
-        if (StringUtils.isEmpty(caseFieldName)) {
-            throw new IllegalStatementsException("getexcelutil.annotation.ExcelNumberFormat.when()：条件判定字段不能为空！");
-        }
-        if (StringUtils.isEmpty(caseValue)) {
-            throw new IllegalStatementsException("getexcelutil.annotation.ExcelNumberFormat.when()：条件判定值不能为空！");
-        }
-
-        String value;
-        try {
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor(caseFieldName, classType);
-            value = (String) propertyDescriptor.getReadMethod().invoke(target);
-        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException e) {
-            logger.error("", e);
-            value = "";
-        }
-
-        return caseValue.equals(value);
-    }
-
-    private void setFieldValue(Object target, Class<?> classType, Field field, Object value) {
-        // 获取参数类
-        Class<?>[] paramTypes = new Class[1];
-        paramTypes[0] = field.getType();
-
-        // 转化值
-        Object[] values = new Object[1];
-        values[0] = ConvertUtils.convert(value, paramTypes[0]);
-
-        // 获取setter
-        String fieldName = field.getName();
-        try {
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor(fieldName, classType);
-            propertyDescriptor.getWriteMethod().invoke(target, values);
-        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private String getCellVal(Cell cell) {
+    private String getCellVal(CellData cell) {
         return getCellVal(cell, null);
     }
 
-    private String getCellVal(Cell cell, Field field) {
+    private String getCellVal(CellData cell, FieldBinding field) {
         if (cell == null) {
             return "";
         }
 
         String cellString;
 
+        // 公式单元格已在CellData中转为计算结果类型
         switch (cell.getCellType()) {
             case STRING: // 字符串
-                cellString = cell.getStringCellValue();
+                cellString = cell.getStringValue();
                 break;
             case NUMERIC: // 数字
-            case FORMULA:
-                if (HSSFDateUtil.isCellDateFormatted(cell)) {
+                if (cell.isDateFormatted()) {
                     //用于转化为日期格式
-                    String pattern = (null != field && field.isAnnotationPresent(ExcelDateFormat.class)) ?
-                            field.getAnnotation(ExcelDateFormat.class).pattern() : datePattern;
-                    Date d = cell.getDateCellValue();
-                    DateFormat f = new SimpleDateFormat(pattern);
-                    cellString = f.format(d);
+                    String pattern = (null != field && null != field.getDateFormat()) ?
+                            field.getDateFormat().pattern() : datePattern;
+                    cellString = FormatterRegistry.formatDate(cell.getDateValue(), pattern);
                 } else {
                     // 用于格式化数字，只保留两位小数
-                    String format = (null != field && field.isAnnotationPresent(ExcelDateFormat.class)) ?
-                            field.getAnnotation(ExcelNumberFormat.class).format() : numberFormat;
-                    DecimalFormat df = new DecimalFormat(format);
-                    cellString = df.format(cell.getNumericCellValue());
+                    String format = (null != field && null != field.getNumberFormat()) ?
+                            field.getNumberFormat().format() : numberFormat;
+                    cellString = FormatterRegistry.decimalFormat(format).format(cell.getNumericValue());
                 }
                 break;
             case BOOLEAN: // Boolean
-                cellString = String.valueOf(cell.getBooleanCellValue());
+                cellString = cell.getStringValue();
                 break;
-//            case FORMULA: // 公式
-//                cellString = String.valueOf(cell.getNumericCellValue());
-//                // cellString = cell.getStringCellValue();
-//                break;
             case BLANK: // 空值
             case ERROR: // 故障
                 cellString = "";
@@ -831,36 +2395,49 @@ public class GetExcelUtil4 implements Serializable {
         return cellString.trim();
     }
 
-    private boolean isEmptyRow (Row row) {
-        if (row != null) {
-            for (Cell cell : row) {
-                if (!isEmptyCell(cell)) {
-                    return false;
-                }
+    /**
+     * 按表头解析@ExcelColumn字段的位置
+     * 表头名称建立索引后逐字段查找，每次取值只解析一次
+     * @param plan 实体类绑定计划
+     * @param header 表头单元格，按列（/行）号获取
+     * @param last 表头最后的列（/行）号
+     * @return 按字段序号的列（/行）号，未标注的字段为0
+     */
+    private int[] resolveNamedPositions(BindingPlan<?> plan, IntFunction<CellData> header, int last, int sheetNo) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 1; i <= last; i++) {
+            String title = getCellVal(header.apply(i));
+            if (!title.isEmpty()) {
+                index.putIfAbsent(title, i);
             }
         }
-        return true;
-    }
 
-    private boolean isEmptyColumn (Sheet sheet, int columnNum) {
-        for (int i = 0; i <= sheet.getLastRowNum(); i ++) {
-            if (!isEmptyCell(sheet.getRow(i).getCell(columnNum - 1))) {
-                return false;
+        FieldBinding[] fields = plan.getFields();
+        int[] positions = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            String name = fields[i].getColumnName();
+            if (name == null || fields[i].isIgnored()) {
+                continue;
+            }
+            Integer position = index.get(name);
+            if (position == null) {
+                throw new IllegalArgumentException("文件工作表" + sheetNo + "表头中不存在“" + name + "”！");
             }
+            positions[i] = position;
         }
-        return true;
+        return positions;
+    }
+
+    private boolean isEmptyRow (RowData row) {
+        return row == null || row.isEmpty();
     }
 
-    private boolean isEmptyCell (Cell cell) {
-        return cell == null || cell.getCellType() == CellType.BLANK;
+    private boolean isEmptyColumn (ExcelSheet sheet, int columnNum) {
+        return sheet.getColumnOccupancy().isEmpty(columnNum);
     }
 
-    private boolean isBaseType (Class<?> clazz) {
-        return String.class.equals(clazz)
-                || Integer.class.equals(clazz)
-                || Double.class.equals(clazz)
-                || Object.class.equals(clazz)
-                || Long.class.equals(clazz);
+    private boolean isEmptyCell (CellData cell) {
+        return cell == null || cell.isBlank();
     }
 
     private String numberToAlphabet(int number) {
@@ -0,0 +1,153 @@
+package com.foxconn.indint.utils.getexcelutil;
+
+import com.foxconn.indint.utils.getexcelutil.column.ColumnarData;
+import com.foxconn.indint.utils.getexcelutil.exceptions.IllegalStatementsException;
+import com.foxconn.indint.utils.getexcelutil.parallel.PipelineOptions;
+import com.foxconn.indint.utils.getexcelutil.parallel.SheetRequest;
+import com.foxconn.indint.utils.getexcelutil.stream.BatchSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 取值会话
+ * 由{@link ExcelReader#open}创建，持有单个文件的工作表，仅提供取值方法，配置不可修改
+ * 1. 每个上传文件一个会话，用完关闭（try-with-resources），不同会话互不影响
+ * 2. 同一会话可按工作表并行取值（见SheetRequest、ForkJoinPool、PipelineOptions重载）
+ * 取值规则同GetExcelUtil4的同名方法
+ */
+public final class ImportSession implements Closeable {
+
+    private final GetExcelUtil4 util;
+
+    ImportSession(GetExcelUtil4 util) {
+        this.util = util;
+    }
+
+    /**
+     * @see GetExcelUtil4#getSheetName(int)
+     */
+    public String getSheetName(int sheetNo) {
+        return util.getSheetName(sheetNo);
+    }
+
+    /**
+     * @see GetExcelUtil4#releaseSheet(int)
+     */
+    public ImportSession releaseSheet(int sheetNo) {
+        util.releaseSheet(sheetNo);
+        return this;
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class)
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, boolean)
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, boolean, ForkJoinPool)
+     */
+    public <T> List<T> getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, ForkJoinPool pool) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck, pool);
+    }
+
+    /**
+     * @see GetExcelUtil4#streamHorizontalData(int, int, int, Class)
+     */
+    public <T> Stream<T> streamHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) {
+        return util.streamHorizontalData(sheetNo, startRow, startColumn, clazz);
+    }
+
+    /**
+     * @see GetExcelUtil4#streamHorizontalData(int, int, int, Class, boolean)
+     */
+    public <T> Stream<T> streamHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) {
+        return util.streamHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, int, Consumer)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, int batchSize, Consumer<List<T>> consumer) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, batchSize, consumer);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, int, BatchSink)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, int batchSize, BatchSink<T> sink) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, batchSize, sink);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, boolean, int, BatchSink)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, int batchSize, BatchSink<T> sink) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck, batchSize, sink);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int, int, int, Class, boolean, int, BatchSink, PipelineOptions)
+     */
+    public <T> int getHorizontalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck, int batchSize, BatchSink<T> sink, PipelineOptions options) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck, batchSize, sink, options);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalColumns(int, int, int, Class)
+     */
+    public <T> ColumnarData getHorizontalColumns(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
+        return util.getHorizontalColumns(sheetNo, startRow, startColumn, clazz);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(List, Executor)
+     */
+    public List<List<?>> getHorizontalData(List<? extends SheetRequest<?>> requests, Executor executor) throws IllegalStatementsException {
+        return util.getHorizontalData(requests, executor);
+    }
+
+    /**
+     * @see GetExcelUtil4#getHorizontalData(int[], int, int, Class, Executor)
+     */
+    public <T> List<List<T>> getHorizontalData(int[] sheetNos, int startRow, int startColumn, Class<T> clazz, Executor executor) throws IllegalStatementsException {
+        return util.getHorizontalData(sheetNos, startRow, startColumn, clazz, executor);
+    }
+
+    /**
+     * @see GetExcelUtil4#getVerticalData(int, int, int, Class)
+     */
+    public <T> List<T> getVerticalData(int sheetNo, int startRow, int startColumn, Class<T> clazz) throws IllegalStatementsException {
+        return util.getVerticalData(sheetNo, startRow, startColumn, clazz);
+    }
+
+    /**
+     * @see GetExcelUtil4#getVerticalData(int, int, int, Class, boolean)
+     */
+    public <T> List<T> getVerticalData(int sheetNo, int startRow, int startColumn, Class<T> clazz, boolean enableDuplicateCheck) throws IllegalStatementsException {
+        return util.getVerticalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck);
+    }
+
+    /**
+     * @see GetExcelUtil4#close()
+     */
+    @Override
+    public void close() throws IOException {
+        util.close();
+    }
+
+}
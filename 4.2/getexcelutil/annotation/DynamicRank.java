@@ -14,8 +14,8 @@ import java.lang.annotation.Target;
  * 3. 从当前一直获取到最后一个表头及对应数据栏位
  * 4. 作用于实体类的最后一个字段，该字段后的其他字段将不会赋值
  * 5. enableDuplicateCheck复性检查：
- *      （1）依赖于实体类的equals方法的实现
- *      （2）会一定程度影响取值效率（看数据量），非必要不开启
+ *      （1）依赖于实体类的equals、hashCode方法的实现，或以@UniqueKey字段判定
+ *      （2）按hashCode索引，每条数据的检查为常数时间
  */
 @Target(value = ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
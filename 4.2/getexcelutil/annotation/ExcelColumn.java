@@ -0,0 +1,23 @@
+package com.foxconn.indint.utils.getexcelutil.annotation;
+
+import java.lang.annotation.Target;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+
+/**
+ * excel取值时，按表头名称匹配字段所在的列，模板列顺序调整时无需修改实体类
+ * 1. 水平表格的表头为起始行的上一行，垂直表格的表头为起始列的前一列
+ * 2. 表头于取值开始时解析一次，表头中不存在name时抛出异常，名称重复时取第一个
+ * 3. 未标注的字段仍按声明顺序取值，位置计算包括标注字段
+ * 4. 对@DynamicRank字段无效
+ */
+@Target(value = ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface ExcelColumn {
+    String name();
+}
@@ -0,0 +1,22 @@
+package com.foxconn.indint.utils.getexcelutil.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 字符串字段取值时去重，相同的值共用同一实例
+ * 1. 适用于取值种类少的字段（状态、类别、单位等），大量数据时减少重复字符串的内存占用
+ * 2. 每次取值单独去重，不同取值超过maxSize后，新出现的值不再缓存
+ * 3. 标注@ValueLimit的字符串字段自动去重（取值为限定值或@Transform转化值），无需标注
+ */
+@Target(value = ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Intern {
+    int maxSize() default 4096;
+}
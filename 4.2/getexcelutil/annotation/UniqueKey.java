@@ -0,0 +1,21 @@
+package com.foxconn.indint.utils.getexcelutil.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 重复性检查的判定字段
+ * 1. 实体类存在该注解时，重复性检查按标注字段的值（多个字段时为组合键）判定，不再依赖实体类的equals方法
+ * 2. 字段需有getter，值类型需正确实现equals、hashCode
+ * 3. 未开启重复性检查时无影响
+ */
+@Target(value = ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface UniqueKey {
+}
@@ -0,0 +1,98 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * getter/setter访问器生成
+ * 1. 优先由LambdaMetafactory生成BiConsumer/Function，调用开销接近直接调用
+ * 2. 实体类对本类的类加载器不可见（如热部署的子加载器）或生成失败时，退化为缓存的MethodHandle
+ */
+final class Accessors {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private Accessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodHandle handle = lookup.unreflect(method);
+            if (isVisible(method.getDeclaringClass())) {
+                try {
+                    CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                            MethodType.methodType(BiConsumer.class), SETTER_TYPE, handle,
+                            MethodType.methodType(void.class, method.getDeclaringClass(), boxed(method.getParameterTypes()[0])));
+                    return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+                } catch (Throwable e) {
+                    // 退化为MethodHandle
+                }
+            }
+            MethodHandle exact = handle.asType(SETTER_TYPE);
+            return (target, value) -> {
+                try {
+                    exact.invokeExact(target, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return (target, value) -> {
+                throw new RuntimeException(e);
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method method) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle = lookup.unreflect(method);
+        if (isVisible(method.getDeclaringClass())) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class), GETTER_TYPE, handle,
+                        MethodType.methodType(boxed(method.getReturnType()), method.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // 退化为MethodHandle
+            }
+        }
+        MethodHandle exact = handle.asType(GETTER_TYPE);
+        return target -> {
+            try {
+                return exact.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    /**
+     * 生成的lambda类由本类的类加载器解析实体类
+     */
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, Accessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import com.foxconn.indint.utils.getexcelutil.annotation.UniqueKey;
+import com.foxconn.indint.utils.getexcelutil.duplicate.DiskDuplicateDetector;
+import com.foxconn.indint.utils.getexcelutil.duplicate.DuplicateDetector;
+import com.foxconn.indint.utils.getexcelutil.duplicate.MemoryDuplicateDetector;
+import com.foxconn.indint.utils.getexcelutil.exceptions.IllegalStatementsException;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 实体类绑定计划
+ * 1. 按实体类缓存字段顺序、注解、转换器及setter，每个类只解析一次，线程安全
+ * 2. 水平、垂直表格取值均按计划赋值，逐行逐单元格取值时不再反射解析
+ * 3. 基础类型（String、Integer等）不解析字段
+ * 4. 存在编译期生成的{@link RowMapper}（由ServiceLoader查找）时，实例化及getter/setter使用生成的访问器；
+ *    字段顺序及注解始终由反射读取
+ * 5. 重复性检查的判定键：存在@UniqueKey字段时为字段值（组合键），否则为实体本身
+ * 6. @ExcelColumn字段按表头匹配位置，表头由取值工具每次取值时解析
+ * 7. 注解表达式创建时编译，表达式错误由{@link #verify()}在取值开始前抛出
+ * @param <T> 实体泛型
+ */
+public final class BindingPlan<T> {
+
+    private static final ClassValue<BindingPlan<?>> PLANS = new ClassValue<BindingPlan<?>>() {
+        @Override
+        protected BindingPlan<?> computeValue(Class<?> type) {
+            return new BindingPlan<>(type);
+        }
+    };
+
+    private static final FieldBinding[] NO_FIELDS = new FieldBinding[0];
+    private static final String[] NO_KEYS = new String[0];
+
+    private final Class<T> type;
+    private final boolean baseType;
+    private final RowMapper<T> mapper;
+    private final FieldBinding[] fields;
+    private final Set<Integer> titleRanks;
+    private final String[] uniqueKeys;
+    private final boolean hashableKey;
+    private final boolean namedColumns;
+    private final boolean whenConditions;
+    private final String statementError;
+    // @ExcelNumberFormat的when条件字段getter，按属性名缓存
+    private final Map<String, Getter> getters = new ConcurrentHashMap<>();
+
+    private BindingPlan(Class<T> type) {
+        this.type = type;
+        this.baseType = String.class.equals(type)
+                || Integer.class.equals(type)
+                || Double.class.equals(type)
+                || Object.class.equals(type)
+                || Long.class.equals(type);
+
+        if (baseType) {
+            this.mapper = null;
+            this.fields = NO_FIELDS;
+            this.titleRanks = Collections.emptySet();
+            this.uniqueKeys = NO_KEYS;
+            this.hashableKey = true;
+            this.namedColumns = false;
+            this.whenConditions = false;
+            this.statementError = null;
+            return;
+        }
+
+        this.mapper = findMapper(type);
+        Field[] declaredFields = type.getDeclaredFields();
+        this.fields = new FieldBinding[declaredFields.length];
+        Set<Integer> ranks = new LinkedHashSet<>();
+        List<String> keys = new ArrayList<>();
+        boolean named = false;
+        boolean when = false;
+        String error = null;
+        for (int i = 0; i < declaredFields.length; i++) {
+            fields[i] = new FieldBinding(declaredFields[i], type, mapper);
+            if (fields[i].isDynamicRank()) {
+                ranks.add(fields[i].getDynamicRank().titleRank());
+            }
+            if (declaredFields[i].isAnnotationPresent(UniqueKey.class)) {
+                keys.add(declaredFields[i].getName());
+            }
+            named |= fields[i].getColumnName() != null && !fields[i].isIgnored();
+            when |= fields[i].hasWhenCondition() && !fields[i].isIgnored();
+            if (error == null) {
+                error = fields[i].getStatementError();
+            }
+        }
+        this.titleRanks = Collections.unmodifiableSet(ranks);
+        this.uniqueKeys = keys.toArray(NO_KEYS);
+        this.hashableKey = uniqueKeys.length > 0 || DuplicateDetector.isHashable(type);
+        this.namedColumns = named;
+        this.whenConditions = when;
+        this.statementError = error;
+        for (FieldBinding field : fields) {
+            field.bindWhenCondition(this);
+        }
+    }
+
+    /**
+     * 查找编译期生成的访问器，不存在时返回null
+     * 访问器由RowMapperProcessor登记于META-INF/services，经实体类的类加载器查找
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> RowMapper<T> findMapper(Class<T> type) {
+        Iterator<?> mappers = ServiceLoader.load(RowMapper.class, type.getClassLoader()).iterator();
+        try {
+            while (mappers.hasNext()) {
+                RowMapper<?> mapper;
+                try {
+                    mapper = (RowMapper<?>) mappers.next();
+                } catch (ServiceConfigurationError e) {
+                    // 登记的访问器已不存在（如实体类已删除）或无法加载，跳过
+                    continue;
+                }
+                if (mapper.type() == type) {
+                    return (RowMapper<T>) mapper;
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            // 登记文件无法读取时按未生成访问器处理
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> BindingPlan<T> of(Class<T> type) {
+        return (BindingPlan<T>) PLANS.get(type);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * 是否为基础类型，基础类型直接由单元格值转化
+     */
+    public boolean isBaseType() {
+        return baseType;
+    }
+
+    /**
+     * 按声明顺序的全部字段，包括@ValueIngnore字段
+     */
+    public FieldBinding[] getFields() {
+        return fields;
+    }
+
+    /**
+     * 是否存在@ExcelColumn字段，需按表头匹配列（/行）
+     */
+    public boolean hasNamedColumns() {
+        return namedColumns;
+    }
+
+    /**
+     * 是否存在@ExcelNumberFormat的when条件，存在时每行需使用新的实体
+     */
+    public boolean hasWhenConditions() {
+        return whenConditions;
+    }
+
+    /**
+     * 校验字段注解表达式
+     * @throws IllegalStatementsException 表达式错误，按字段声明顺序报告第一个
+     */
+    public void verify() throws IllegalStatementsException {
+        if (statementError != null) {
+            throw new IllegalStatementsException(statementError);
+        }
+    }
+
+    /**
+     * @DynamicRank字段的表头行（/列）
+     */
+    public Set<Integer> getTitleRanks() {
+        return titleRanks;
+    }
+
+    /**
+     * 新建内存重复性检查，判定键按{@link #getDuplicateKey}取得
+     */
+    public DuplicateDetector newDuplicateDetector() {
+        return new MemoryDuplicateDetector(hashableKey);
+    }
+
+    /**
+     * 新建重复性检查
+     * @param directory 磁盘索引目录，为null或判定键不按值（无@UniqueKey字段的实体）时使用内存重复性检查
+     */
+    public DuplicateDetector newDuplicateDetector(File directory) {
+        if (directory != null && (baseType || uniqueKeys.length > 0)) {
+            return new DiskDuplicateDetector(directory);
+        }
+        return newDuplicateDetector();
+    }
+
+    /**
+     * 重复性检查的判定键
+     * @param target 实体
+     * @return 单个@UniqueKey字段时为字段值，多个时为字段值List，无@UniqueKey字段时为实体本身
+     */
+    public Object getDuplicateKey(Object target) {
+        if (uniqueKeys.length == 0) {
+            return target;
+        }
+        try {
+            if (uniqueKeys.length == 1) {
+                return getProperty(target, uniqueKeys[0]);
+            }
+            Object[] values = new Object[uniqueKeys.length];
+            for (int i = 0; i < uniqueKeys.length; i++) {
+                values[i] = getProperty(target, uniqueKeys[i]);
+            }
+            return Arrays.asList(values);
+        } catch (IntrospectionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public T newInstance() {
+        if (mapper != null) {
+            return mapper.newInstance();
+        }
+        try {
+            return type.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 获取属性值
+     * @param target 实体
+     * @param name 属性名
+     * @return 属性值
+     * @throws IntrospectionException 属性不存在或无getter
+     */
+    public Object getProperty(Object target, String name) throws IntrospectionException {
+        return getGetter(name).apply(target);
+    }
+
+    /**
+     * 获取属性getter，逐行取值时可先取得getter再调用
+     * @param name 属性名
+     * @return getter
+     * @throws IntrospectionException 属性不存在或无getter
+     */
+    public Function<Object, Object> getGetter(String name) throws IntrospectionException {
+        Getter getter = getters.computeIfAbsent(name, this::resolveGetter);
+        if (getter.exception != null) {
+            throw getter.exception;
+        }
+        return getter.accessor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Getter resolveGetter(String name) {
+        Function<T, Object> generated = mapper == null ? null : mapper.getter(name);
+        if (generated != null) {
+            return new Getter((Function<Object, Object>) generated, null);
+        }
+        try {
+            return new Getter(Accessors.getter(new PropertyDescriptor(name, type).getReadMethod()), null);
+        } catch (IntrospectionException e) {
+            return new Getter(null, e);
+        } catch (IllegalAccessException e) {
+            IntrospectionException exception = new IntrospectionException("getter不可访问：" + name);
+            exception.initCause(e);
+            return new Getter(null, exception);
+        }
+    }
+
+    private static final class Getter {
+        final Function<Object, Object> accessor;
+        final IntrospectionException exception;
+
+        Getter(Function<Object, Object> accessor, IntrospectionException exception) {
+            this.accessor = accessor;
+            this.exception = exception;
+        }
+    }
+
+}
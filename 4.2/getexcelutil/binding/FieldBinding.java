@@ -0,0 +1,353 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import com.foxconn.indint.utils.getexcelutil.annotation.DynamicRank;
+import com.foxconn.indint.utils.getexcelutil.annotation.ExcelColumn;
+import com.foxconn.indint.utils.getexcelutil.annotation.ExcelDateFormat;
+import com.foxconn.indint.utils.getexcelutil.annotation.ExcelNumberFormat;
+import com.foxconn.indint.utils.getexcelutil.annotation.Intern;
+import com.foxconn.indint.utils.getexcelutil.annotation.NotNull;
+import com.foxconn.indint.utils.getexcelutil.annotation.Transform;
+import com.foxconn.indint.utils.getexcelutil.annotation.ValueIngnore;
+import com.foxconn.indint.utils.getexcelutil.annotation.ValueLimit;
+import com.foxconn.indint.utils.getexcelutil.convert.CellConverter;
+import com.foxconn.indint.utils.getexcelutil.convert.ConverterRegistry;
+import com.foxconn.indint.utils.getexcelutil.convert.StringPool;
+import com.foxconn.indint.utils.getexcelutil.enums.FieldType;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.beanutils.Converter;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 字段绑定信息
+ * 实体类字段的注解、转换器及setter，由{@link BindingPlan}创建时一次性解析
+ * setter优先使用编译期生成的{@link RowMapper}，否则由{@link Accessors}生成，赋值时不经过反射调用
+ */
+public final class FieldBinding {
+
+    private final Field field;
+    private final Class<?> type;
+    private final boolean ignored;
+
+    private final DynamicRank dynamicRank;
+    private final Class<?> elementType;
+    private final NotNull notNull;
+    private final ExcelDateFormat dateFormat;
+    private final ExcelNumberFormat numberFormat;
+    private final ValueLimit valueLimit;
+    private final Transform transform;
+    private final String columnName;
+
+    // @ValueLimit限定值、@Transform转化映射，创建时编译
+    private final Set<String> limitValues;
+    private final Map<String, String> transforms;
+    private final WhenCondition whenCondition;
+    private final String statementError;
+    // @ValueLimit字段的固定去重池，所有取值共用；@Intern字段的去重池随每次取值创建(StringPools)
+    private final StringPool stringPool;
+    private final int internMaxSize;
+
+    private final Converter converter;
+    private final Map<CellType, CellConverter> cellConverters = new EnumMap<>(CellType.class);
+    private final BiConsumer<Object, Object> setter;
+
+    FieldBinding(Field field, Class<?> declaringType, RowMapper<?> mapper) {
+        this.field = field;
+        this.type = field.getType();
+        this.ignored = field.isAnnotationPresent(ValueIngnore.class);
+
+        this.dynamicRank = field.getAnnotation(DynamicRank.class);
+        this.elementType = dynamicRank == null ? null
+                : (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        this.notNull = field.getAnnotation(NotNull.class);
+        this.dateFormat = field.getAnnotation(ExcelDateFormat.class);
+        this.numberFormat = field.getAnnotation(ExcelNumberFormat.class);
+        this.valueLimit = field.getAnnotation(ValueLimit.class);
+        this.transform = field.getAnnotation(Transform.class);
+        ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+        this.columnName = column == null || dynamicRank != null ? null : column.name().trim();
+        this.limitValues = valueLimit == null ? null
+                : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(valueLimit.limit())));
+        this.transforms = transform == null ? null : compileTransforms();
+        this.whenCondition = hasWhenCondition() ? WhenCondition.parse(numberFormat.when()) : null;
+        this.statementError = findStatementError();
+        Intern intern = field.getAnnotation(Intern.class);
+        this.internMaxSize = intern == null || type != String.class || ignored || dynamicRank != null ? 0 : intern.maxSize();
+        this.stringPool = internMaxSize > 0 ? null : resolveStringPool();
+
+        this.converter = ConvertUtils.lookup(type);
+        if (isDirectlyConvertible()) {
+            FieldType fieldType = FieldType.of(type);
+            for (CellType cellType : CellType.values()) {
+                CellConverter cellConverter = ConverterRegistry.lookup(cellType, fieldType);
+                if (cellConverter != null) {
+                    cellConverters.put(cellType, cellConverter);
+                }
+            }
+        }
+        this.setter = ignored ? null : resolveSetter(field.getName(), declaringType, mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> resolveSetter(String name, Class<?> declaringType, RowMapper<?> mapper) {
+        BiConsumer<?, Object> generated = mapper == null ? null : mapper.setter(name);
+        if (generated != null) {
+            return (BiConsumer<Object, Object>) generated;
+        }
+        try {
+            return Accessors.setter(new PropertyDescriptor(name, declaringType).getWriteMethod());
+        } catch (IntrospectionException e) {
+            // 与逐个赋值时一致，赋值时才抛出
+            return (target, value) -> {
+                throw new RuntimeException(e);
+            };
+        }
+    }
+
+    /**
+     * 编译@Transform表达式为取值到最终转化值的映射
+     * 表达式按顺序依次作用（a->b、b->c时a转化为c），映射保存每个起始值依次转化后的结果
+     * @return 表达式缺失“->”时返回null，由statementError记录
+     */
+    private Map<String, String> compileTransforms() {
+        String[] expressions = transform.expressions();
+        String[][] pairs = new String[expressions.length][];
+        for (int i = 0; i < expressions.length; i++) {
+            String expression = expressions[i];
+            int arrow = expression.indexOf("->");
+            if (arrow < 0) {
+                return null;
+            }
+            pairs[i] = new String[]{expression.substring(0, arrow).trim(), expression.substring(arrow + 2).trim()};
+        }
+        Map<String, String> compiled = new HashMap<>();
+        for (String[] start : pairs) {
+            String value = start[0];
+            for (String[] pair : pairs) {
+                if (pair[0].equals(value)) {
+                    value = pair[1];
+                }
+            }
+            compiled.put(start[0], value);
+        }
+        return Collections.unmodifiableMap(compiled);
+    }
+
+    /**
+     * 取值时会用到的注解表达式的错误
+     * 1. @ExcelNumberFormat的when条件（同时标注@ExcelDateFormat时不判定）
+     * 2. @Transform表达式
+     */
+    private String findStatementError() {
+        if (ignored || dynamicRank != null) {
+            return null;
+        }
+        if (whenCondition != null && dateFormat == null && whenCondition.getError() != null) {
+            return whenCondition.getError();
+        }
+        if (transform == null || transforms != null) {
+            return null;
+        }
+        for (String expression : transform.expressions()) {
+            if (!expression.contains("->")) {
+                return "getexcelutil.annotation.Transform.expressions()：表达式“" + expression + "”缺失转化符号“->”";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 标注@ValueLimit的字符串字段的固定去重池，取值只能是限定值或@Transform转化值，由这些值创建
+     */
+    private StringPool resolveStringPool() {
+        if (type != String.class || ignored || dynamicRank != null || limitValues == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(limitValues);
+        if (transforms != null) {
+            values.addAll(transforms.values());
+        }
+        return StringPool.fixed(values);
+    }
+
+    /**
+     * 字段注解只对字符串取值有影响时，才可由单元格直接转化
+     * 1. @ValueLimit、@Transform作用于字符串
+     * 2. @ExcelNumberFormat的when条件可能抛出表达式异常，需按原顺序判定
+     * 3. @ExcelDateFormat仅对日期类型字段不影响结果
+     */
+    private boolean isDirectlyConvertible() {
+        FieldType fieldType = FieldType.of(type);
+        return !ignored && dynamicRank == null && valueLimit == null && transform == null
+                && (numberFormat == null || numberFormat.when().isEmpty())
+                && (dateFormat == null || fieldType == FieldType.DATE || fieldType == FieldType.LOCALDATE || fieldType == FieldType.LOCALDATETIME);
+    }
+
+    /**
+     * @return 该单元格类型的直接转化器，不可直接转化时返回null
+     */
+    public CellConverter getCellConverter(CellType cellType) {
+        return cellConverters.get(cellType);
+    }
+
+    /**
+     * 赋值已转化为字段类型的值
+     */
+    public void setConverted(Object target, Object value) {
+        setter.accept(target, value);
+    }
+
+    /**
+     * 转化值并赋值
+     * @param target 实体
+     * @param value 单元格字符串值，或@DynamicRank字段的List
+     */
+    public void set(Object target, Object value) {
+        setter.accept(target, convert(value));
+    }
+
+    /**
+     * @return 值是否在@ValueLimit限定范围内
+     */
+    public boolean isLimitValue(String value) {
+        return limitValues.contains(value);
+    }
+
+    /**
+     * 按@Transform表达式转化值
+     * @return 转化后的值，无匹配表达式时返回value本身
+     */
+    public String transform(String value) {
+        return transforms.getOrDefault(value, value);
+    }
+
+    /**
+     * 绑定when条件判定字段的getter
+     */
+    void bindWhenCondition(BindingPlan<?> plan) {
+        if (whenCondition != null) {
+            whenCondition.bind(plan);
+        }
+    }
+
+    /**
+     * 判定@ExcelNumberFormat的when条件
+     * @param target 已赋值前序字段的实体
+     * @return 条件是否成立
+     */
+    public boolean matchesWhen(Object target) {
+        return whenCondition.test(target);
+    }
+
+    /**
+     * @return 注解表达式错误信息，无错误时返回null
+     */
+    public String getStatementError() {
+        return statementError;
+    }
+
+    /**
+     * 按固定去重池（@ValueLimit字段）去重
+     * @return 去重后的字符串，无固定去重池时返回value本身
+     */
+    public String intern(String value) {
+        return stringPool == null ? value : stringPool.intern(value);
+    }
+
+    /**
+     * @return @Intern字符串字段每次取值的去重池上限，未标注时返回0
+     */
+    public int getInternMaxSize() {
+        return internMaxSize;
+    }
+
+    private Object convert(Object value) {
+        if (value instanceof String && converter != null) {
+            return converter.convert(type, value);
+        }
+        return ConvertUtils.convert(value, type);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 是否标注@ValueIngnore
+     */
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    public boolean isDynamicRank() {
+        return dynamicRank != null;
+    }
+
+    public DynamicRank getDynamicRank() {
+        return dynamicRank;
+    }
+
+    /**
+     * @DynamicRank字段List的元素类型
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    public NotNull getNotNull() {
+        return notNull;
+    }
+
+    public ExcelDateFormat getDateFormat() {
+        return dateFormat;
+    }
+
+    public ExcelNumberFormat getNumberFormat() {
+        return numberFormat;
+    }
+
+    public ValueLimit getValueLimit() {
+        return valueLimit;
+    }
+
+    public Transform getTransform() {
+        return transform;
+    }
+
+    /**
+     * 是否有@ExcelNumberFormat的when条件，条件依赖同一实体的其他字段
+     */
+    public boolean hasWhenCondition() {
+        return numberFormat != null && !numberFormat.when().isEmpty();
+    }
+
+    /**
+     * @ExcelColumn表头名称，未标注（或为@DynamicRank字段）时返回null
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+}
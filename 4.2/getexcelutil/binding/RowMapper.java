@@ -0,0 +1,38 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 编译期生成的实体类访问器
+ * 1. 由{@link com.foxconn.indint.utils.getexcelutil.processor.RowMapperProcessor}为使用取值注解的实体类生成，
+ *    类名为实体类名（内部类以"_"连接）加"_RowMapper"，登记于META-INF/services，由ServiceLoader加载
+ * 2. 存在时{@link BindingPlan}优先使用，实例化及getter/setter均为直接调用，不经过反射调用或运行时生成类
+ * 3. 仅替代实例化及getter/setter：字段顺序、注解仍于绑定计划创建时由反射读取（每个实体类一次）
+ * 4. 注解校验、值转化仍由取值工具统一处理，与未生成访问器时行为一致
+ * @param <T> 实体泛型
+ */
+public interface RowMapper<T> {
+
+    String SUFFIX = "_RowMapper";
+
+    /**
+     * @return 访问器对应的实体类
+     */
+    Class<T> type();
+
+    T newInstance();
+
+    /**
+     * @param property 属性名
+     * @return setter，属性不存在（需同时有getter、setter）时返回null
+     */
+    BiConsumer<T, Object> setter(String property);
+
+    /**
+     * @param property 属性名
+     * @return getter，属性不存在（需同时有getter、setter）时返回null
+     */
+    Function<T, Object> getter(String property);
+
+}
@@ -0,0 +1,37 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import com.foxconn.indint.utils.getexcelutil.convert.StringPool;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 单次取值的字符串去重池
+ * 1. @Intern字段的可增长池随取值创建，取值结束后随之释放，不在多次取值、多个会话间累积
+ * 2. @ValueLimit字段使用绑定计划中的固定池
+ * 线程安全，同一次取值的并行任务共用
+ */
+public final class StringPools {
+
+    private final ConcurrentMap<FieldBinding, StringPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * @return 去重后的字符串，字段未启用去重时返回value本身
+     */
+    public String intern(FieldBinding field, String value) {
+        int maxSize = field.getInternMaxSize();
+        if (maxSize == 0) {
+            return field.intern(value);
+        }
+        StringPool pool = pools.get(field);
+        if (pool == null) {
+            StringPool created = StringPool.growable(maxSize);
+            pool = pools.putIfAbsent(field, created);
+            if (pool == null) {
+                pool = created;
+            }
+        }
+        return pool.intern(value);
+    }
+
+}
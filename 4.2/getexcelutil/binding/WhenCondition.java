@@ -0,0 +1,76 @@
+package com.foxconn.indint.utils.getexcelutil.binding;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.beans.IntrospectionException;
+import java.util.function.Function;
+
+/**
+ * 编译后的@ExcelNumberFormat when条件（“字段 == 值”）
+ * 1. 表达式于绑定计划创建时解析，格式错误记录为错误信息，由{@link BindingPlan#verify()}抛出
+ * 2. 判定字段的getter由绑定计划取得并缓存，判定时不再解析表达式或反射
+ * 3. 判定字段不存在或无getter时记录日志，条件始终不成立
+ */
+final class WhenCondition {
+
+    private static final Logger logger = LoggerFactory.getLogger(WhenCondition.class);
+
+    private final String fieldName;
+    private final String value;
+    private final String error;
+    private Function<Object, Object> getter;
+
+    private WhenCondition(String fieldName, String value, String error) {
+        this.fieldName = fieldName;
+        this.value = value;
+        this.error = error;
+    }
+
+    static WhenCondition parse(String when) {
+        int operator = when.indexOf("==");
+        if (operator < 0) {
+            return new WhenCondition(null, null, "getexcelutil.annotation.ExcelNumberFormat.when()：缺失条件连接符“==”");
+        }
+        String fieldName = when.substring(0, operator).trim();
+        String value = when.substring(operator + 2).trim();
+        if (StringUtils.isEmpty(fieldName)) {
+            return new WhenCondition(null, null, "getexcelutil.annotation.ExcelNumberFormat.when()：条件判定字段不能为空！");
+        }
+        if (StringUtils.isEmpty(value)) {
+            return new WhenCondition(null, null, "getexcelutil.annotation.ExcelNumberFormat.when()：条件判定值不能为空！");
+        }
+        return new WhenCondition(fieldName, value, null);
+    }
+
+    /**
+     * 取得判定字段的getter，计划创建时调用一次
+     */
+    void bind(BindingPlan<?> plan) {
+        if (error != null) {
+            return;
+        }
+        try {
+            getter = plan.getGetter(fieldName);
+        } catch (IntrospectionException e) {
+            logger.error("", e);
+        }
+    }
+
+    /**
+     * @return 表达式错误信息，无错误时返回null
+     */
+    String getError() {
+        return error;
+    }
+
+    /**
+     * @param target 已赋值前序字段的实体
+     * @return 判定字段的值是否等于条件值
+     */
+    boolean test(Object target) {
+        return getter != null && value.equals((String) getter.apply(target));
+    }
+
+}
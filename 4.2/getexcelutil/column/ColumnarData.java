@@ -0,0 +1,77 @@
+package com.foxconn.indint.utils.getexcelutil.column;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 列式取值结果
+ * 按字段名（基础类型为列字母）保存各列，列顺序同字段声明顺序
+ */
+public final class ColumnarData {
+
+    private final Map<String, DataColumn> columns = new LinkedHashMap<>();
+    private int rowCount;
+
+    /**
+     * @param columns 各列，按顺序
+     */
+    public ColumnarData(DataColumn... columns) {
+        for (DataColumn column : columns) {
+            this.columns.put(column.getName(), column);
+        }
+    }
+
+    /**
+     * 数据条数
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 各列追加一行后调用
+     */
+    public void nextRow() {
+        rowCount++;
+    }
+
+    public Map<String, DataColumn> getColumns() {
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * @return 列，不存在时返回null
+     */
+    public DataColumn getColumn(String name) {
+        return columns.get(name);
+    }
+
+    public LongColumn getLongColumn(String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    public DoubleColumn getDoubleColumn(String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    public StringColumn getStringColumn(String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    public ObjectColumn getObjectColumn(String name) {
+        return getColumn(name, ObjectColumn.class);
+    }
+
+    private <C extends DataColumn> C getColumn(String name, Class<C> type) {
+        DataColumn column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("列不存在：" + name);
+        }
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("列" + name + "的类型为" + column.getClass().getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+}
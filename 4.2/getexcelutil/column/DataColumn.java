@@ -0,0 +1,102 @@
+package com.foxconn.indint.utils.getexcelutil.column;
+
+import java.util.BitSet;
+
+/**
+ * 列式取值的列
+ * 1. 按字段类型选择存储：整数为long[]，小数为double[]，字符串为字典编码，其余为Object[]
+ * 2. 空值以位图记录，数组按需扩容
+ * 行序号从0开始，为数据区域内的第几条数据
+ */
+public abstract class DataColumn {
+
+    static final int INITIAL_CAPACITY = 64;
+
+    private final String name;
+    private final BitSet nulls = new BitSet();
+    int size;
+
+    DataColumn(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 按字段类型创建列
+     * @param name 列名（字段名）
+     * @param type 字段类型
+     */
+    public static DataColumn of(String name, Class<?> type) {
+        if (type == long.class || type == Long.class
+                || type == int.class || type == Integer.class
+                || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            return new LongColumn(name);
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return new DoubleColumn(name);
+        }
+        if (type == String.class) {
+            return new StringColumn(name);
+        }
+        return new ObjectColumn(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 数据条数
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /**
+     * @return 装箱后的值，空值返回null
+     */
+    public Object getValue(int row) {
+        checkRow(row);
+        return nulls.get(row) ? null : value(row);
+    }
+
+    /**
+     * 追加一个值
+     * @param value 字段值，可为null
+     */
+    public void append(Object value) {
+        ensureCapacity(size + 1);
+        if (value == null) {
+            nulls.set(size);
+            appendNull(size);
+        } else {
+            appendValue(size, value);
+        }
+        size++;
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("行序号超出范围：" + row);
+        }
+    }
+
+    static int grow(int capacity, int minCapacity) {
+        int newCapacity = Math.max(capacity << 1, INITIAL_CAPACITY);
+        return Math.max(newCapacity, minCapacity);
+    }
+
+    abstract void ensureCapacity(int capacity);
+
+    abstract void appendNull(int row);
+
+    abstract void appendValue(int row, Object value);
+
+    abstract Object value(int row);
+
+}
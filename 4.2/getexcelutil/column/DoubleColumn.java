@@ -0,0 +1,53 @@
+package com.foxconn.indint.utils.getexcelutil.column;
+
+import java.util.Arrays;
+
+/**
+ * 小数列（double、float及其包装类型）
+ */
+public final class DoubleColumn extends DataColumn {
+
+    private double[] values = new double[0];
+
+    DoubleColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * @return 值，空值返回0
+     */
+    public double get(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    /**
+     * @return 长度为size()的数组副本
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, grow(values.length, capacity));
+        }
+    }
+
+    @Override
+    void appendNull(int row) {
+        values[row] = 0;
+    }
+
+    @Override
+    void appendValue(int row, Object value) {
+        values[row] = ((Number) value).doubleValue();
+    }
+
+    @Override
+    Object value(int row) {
+        return values[row];
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.foxconn.indint.utils.getexcelutil.column;
+
+import java.util.Arrays;
+
+/**
+ * 其他类型的列（日期、BigDecimal、布尔等），按原值保存
+ */
+public final class ObjectColumn extends DataColumn {
+
+    private Object[] values = new Object[0];
+
+    ObjectColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * @return 值，空值返回null
+     */
+    public Object get(int row) {
+        checkRow(row);
+        return values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, grow(values.length, capacity));
+        }
+    }
+
+    @Override
+    void appendNull(int row) {
+        values[row] = null;
+    }
+
+    @Override
+    void appendValue(int row, Object value) {
+        values[row] = value;
+    }
+
+    @Override
+    Object value(int row) {
+        return values[row];
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.foxconn.indint.utils.getexcelutil.column;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字符串列，字典编码
+ * 每行保存字典序号，相同的值只保存一份
+ */
+public final class StringColumn extends DataColumn {
+
+    private int[] codes = new int[0];
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> lookup = new HashMap<>();
+
+    StringColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * @return 值，空值返回null
+     */
+    public String get(int row) {
+        checkRow(row);
+        int code = codes[row];
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    /**
+     * @return 字典序号，空值返回-1
+     */
+    public int getCode(int row) {
+        checkRow(row);
+        return codes[row];
+    }
+
+    /**
+     * @return 长度为size()的字典序号数组副本
+     */
+    public int[] getCodes() {
+        return Arrays.copyOf(codes, size);
+    }
+
+    /**
+     * 按首次出现顺序的不重复值
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > codes.length) {
+            codes = Arrays.copyOf(codes, grow(codes.length, capacity));
+        }
+    }
+
+    @Override
+    void appendNull(int row) {
+        codes[row] = -1;
+    }
+
+    @Override
+    void appendValue(int row, Object value) {
+        String string = value.toString();
+        Integer code = lookup.get(string);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(string);
+            lookup.put(string, code);
+        }
+        codes[row] = code;
+    }
+
+    @Override
+    Object value(int row) {
+        return dictionary.get(codes[row]);
+    }
+
+}
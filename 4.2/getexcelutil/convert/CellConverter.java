@@ -0,0 +1,24 @@
+package com.foxconn.indint.utils.getexcelutil.convert;
+
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+
+/**
+ * 单元格到字段类型的直接转化
+ * 不经过“格式化为字符串再由ConvertUtils解析”的过程，转化结果需与该过程一致
+ */
+@FunctionalInterface
+public interface CellConverter {
+
+    /**
+     * 不适用时的返回值，交由字符串取值处理
+     */
+    Object UNSUPPORTED = new Object();
+
+    /**
+     * @param cell 单元格
+     * @param pattern 字段生效的数字格式
+     * @return 字段值，无法保证与字符串取值一致时返回{@link #UNSUPPORTED}
+     */
+    Object convert(CellData cell, NumberPattern pattern);
+
+}
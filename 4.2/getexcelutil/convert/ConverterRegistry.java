@@ -0,0 +1,92 @@
+package com.foxconn.indint.utils.getexcelutil.convert;
+
+import com.foxconn.indint.utils.getexcelutil.enums.FieldType;
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 单元格直接转化注册表
+ * 1. 按单元格类型、字段类型注册，未注册的组合按原方式格式化为字符串后由ConvertUtils转化
+ * 2. 数字单元格直接写入int/long/short/double/BigDecimal字段，日期单元格直接写入Date/LocalDate/LocalDateTime字段
+ * 3. 注册需在实体类首次取值前完成
+ */
+public final class ConverterRegistry {
+
+    private static final Map<CellType, Map<FieldType, CellConverter>> CONVERTERS = new EnumMap<>(CellType.class);
+
+    static {
+        register(CellType.NUMERIC, FieldType.INT, integral(Integer.MIN_VALUE, Integer.MAX_VALUE + 1.0, v -> (int) v));
+        register(CellType.NUMERIC, FieldType.INTEGER, integral(Integer.MIN_VALUE, Integer.MAX_VALUE + 1.0, v -> (int) v));
+        register(CellType.NUMERIC, FieldType.LONG, integral(Long.MIN_VALUE, 0x1p63, v -> (long) v));
+        register(CellType.NUMERIC, FieldType.BLONG, integral(Long.MIN_VALUE, 0x1p63, v -> (long) v));
+        register(CellType.NUMERIC, FieldType.SHORT, integral(Short.MIN_VALUE, Short.MAX_VALUE + 1.0, v -> (short) v));
+        register(CellType.NUMERIC, FieldType.BSHORT, integral(Short.MIN_VALUE, Short.MAX_VALUE + 1.0, v -> (short) v));
+        register(CellType.NUMERIC, FieldType.DOUBLE, ConverterRegistry::toDouble);
+        register(CellType.NUMERIC, FieldType.BDOUBLE, ConverterRegistry::toDouble);
+        register(CellType.NUMERIC, FieldType.BIGDECIMAL, ConverterRegistry::toBigDecimal);
+        register(CellType.NUMERIC, FieldType.DATE, (cell, pattern) -> cell.isDateFormatted()
+                ? new Date(cell.getDateValue().getTime()) : CellConverter.UNSUPPORTED);
+        register(CellType.NUMERIC, FieldType.LOCALDATE, (cell, pattern) -> cell.isDateFormatted()
+                ? cell.getDateValue().toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : CellConverter.UNSUPPORTED);
+        register(CellType.NUMERIC, FieldType.LOCALDATETIME, (cell, pattern) -> cell.isDateFormatted()
+                ? cell.getDateValue().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime() : CellConverter.UNSUPPORTED);
+    }
+
+    private ConverterRegistry() {
+    }
+
+    public static synchronized void register(CellType cellType, FieldType fieldType, CellConverter converter) {
+        CONVERTERS.computeIfAbsent(cellType, k -> new EnumMap<>(FieldType.class)).put(fieldType, converter);
+    }
+
+    /**
+     * @return 转化器，未注册时返回null
+     */
+    public static synchronized CellConverter lookup(CellType cellType, FieldType fieldType) {
+        Map<FieldType, CellConverter> converters = CONVERTERS.get(cellType);
+        return converters == null || fieldType == null ? null : converters.get(fieldType);
+    }
+
+    private interface IntegralFactory {
+        Object box(double value);
+    }
+
+    /**
+     * @param min 最小值（含）
+     * @param maxExclusive 最大值（不含），超出范围时字符串取值无法解析
+     */
+    private static CellConverter integral(double min, double maxExclusive, IntegralFactory factory) {
+        return (cell, pattern) -> {
+            double value = cell.getNumericValue();
+            if (cell.isDateFormatted() || !pattern.isIntegral(value) || value < min || value >= maxExclusive) {
+                return CellConverter.UNSUPPORTED;
+            }
+            return factory.box(value);
+        };
+    }
+
+    private static Object toDouble(CellData cell, NumberPattern pattern) {
+        double value = cell.getNumericValue();
+        if (cell.isDateFormatted() || pattern.fractionDigits(value) < 0) {
+            return CellConverter.UNSUPPORTED;
+        }
+        return value;
+    }
+
+    private static Object toBigDecimal(CellData cell, NumberPattern pattern) {
+        double value = cell.getNumericValue();
+        int scale = cell.isDateFormatted() ? -1 : pattern.fractionDigits(value);
+        if (scale < 0) {
+            return CellConverter.UNSUPPORTED;
+        }
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+}
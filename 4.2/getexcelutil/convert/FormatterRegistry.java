@@ -0,0 +1,94 @@
+package com.foxconn.indint.utils.getexcelutil.convert;
+
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日期、数字格式缓存
+ * 1. 日期格式化：仅由数字类字母(y、M、d、H、m、s、SSS)组成的格式使用共享的DateTimeFormatter，
+ *    结果与SimpleDateFormat一致；其余格式（含文本月份、星期等）使用线程内缓存的SimpleDateFormat
+ * 2. 日期校验解析保持SimpleDateFormat的宽松解析规则，使用线程内缓存的实例
+ * 3. DecimalFormat非线程安全，按格式在线程内缓存
+ * 逐单元格取值时不再创建格式对象或重复解析格式字符串
+ */
+public final class FormatterRegistry {
+
+    private static final Map<String, Optional<DateTimeFormatter>> DATE_TIME_FORMATTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> DATE_FORMATS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, DecimalFormat>> DECIMAL_FORMATS = ThreadLocal.withInitial(HashMap::new);
+
+    private FormatterRegistry() {
+    }
+
+    /**
+     * 按格式格式化日期，结果同new SimpleDateFormat(pattern).format(date)
+     */
+    public static String formatDate(Date date, String pattern) {
+        Optional<DateTimeFormatter> formatter = DATE_TIME_FORMATTERS.computeIfAbsent(pattern, FormatterRegistry::compile);
+        if (formatter.isPresent()) {
+            return formatter.get().format(date.toInstant().atZone(ZoneId.systemDefault()));
+        }
+        return dateFormat(pattern).format(date);
+    }
+
+    /**
+     * @return 当前线程的SimpleDateFormat，不可跨线程使用
+     */
+    public static SimpleDateFormat dateFormat(String pattern) {
+        return DATE_FORMATS.get().computeIfAbsent(pattern, SimpleDateFormat::new);
+    }
+
+    /**
+     * @return 当前线程的DecimalFormat，不可跨线程使用
+     */
+    public static DecimalFormat decimalFormat(String pattern) {
+        return DECIMAL_FORMATS.get().computeIfAbsent(pattern, DecimalFormat::new);
+    }
+
+    /**
+     * 仅当格式化结果与SimpleDateFormat一致时编译为DateTimeFormatter
+     */
+    private static Optional<DateTimeFormatter> compile(String pattern) {
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            boolean compatible;
+            switch (c) {
+                case 'y':
+                    compatible = count <= 4;
+                    break;
+                case 'M':
+                case 'd':
+                case 'H':
+                case 'm':
+                case 's':
+                    compatible = count <= 2;
+                    break;
+                case 'S':
+                    compatible = count == 3;
+                    break;
+                default:
+                    // 字母及DateTimeFormatter的保留符号、引号按原方式处理
+                    compatible = !Character.isLetter(c) && "[]{}#'".indexOf(c) < 0;
+                    break;
+            }
+            if (!compatible) {
+                return Optional.empty();
+            }
+            i += count;
+        }
+        return Optional.of(DateTimeFormatter.ofPattern(pattern));
+    }
+
+}
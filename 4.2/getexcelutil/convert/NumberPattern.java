@@ -0,0 +1,62 @@
+package com.foxconn.indint.utils.getexcelutil.convert;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数字格式解析结果
+ * 判断某个数值按该格式格式化后再解析，是否与原值一致，按格式字符串缓存
+ */
+public final class NumberPattern {
+
+    private static final Map<String, NumberPattern> PATTERNS = new ConcurrentHashMap<>();
+
+    private final boolean plain;
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+
+    private NumberPattern(String pattern) {
+        DecimalFormat df = new DecimalFormat(pattern);
+        DecimalFormatSymbols symbols = df.getDecimalFormatSymbols();
+        // 无前后缀、分组、百分比、科学计数，且为默认符号，格式化结果可被ConvertUtils原样解析
+        this.plain = df.getPositivePrefix().isEmpty()
+                && df.getPositiveSuffix().isEmpty()
+                && df.getNegativePrefix().equals(String.valueOf(symbols.getMinusSign()))
+                && df.getNegativeSuffix().isEmpty()
+                && df.getMultiplier() == 1
+                && !(df.isGroupingUsed() && df.getGroupingSize() > 0)
+                && !df.toPattern().contains("E")
+                && symbols.getDecimalSeparator() == '.'
+                && symbols.getMinusSign() == '-'
+                && symbols.getZeroDigit() == '0';
+        this.minFractionDigits = df.getMinimumFractionDigits();
+        this.maxFractionDigits = df.getMaximumFractionDigits();
+    }
+
+    public static NumberPattern of(String pattern) {
+        return PATTERNS.computeIfAbsent(pattern, NumberPattern::new);
+    }
+
+    /**
+     * 整数值格式化后不含小数部分
+     */
+    public boolean isIntegral(double value) {
+        return plain && minFractionDigits == 0 && !Double.isInfinite(value) && value == Math.rint(value);
+    }
+
+    /**
+     * 格式化时不发生舍入
+     * @return 格式化后的小数位数，会发生舍入时返回-1
+     */
+    public int fractionDigits(double value) {
+        if (!plain || Double.isNaN(value) || Double.isInfinite(value)) {
+            return -1;
+        }
+        int scale = Math.max(0, BigDecimal.valueOf(value).stripTrailingZeros().scale());
+        return scale <= maxFractionDigits ? Math.max(scale, minFractionDigits) : -1;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.foxconn.indint.utils.getexcelutil.convert;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 字段字符串去重池
+ * 1. 固定池由限定值创建，只查不增，取值不在其中时原样返回
+ * 2. 可增长池缓存出现过的值，达到上限后不再增加
+ * 线程安全；固定池由同一字段的所有取值共用，可增长池每次取值创建
+ */
+public final class StringPool {
+
+    private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param maxSize 最多缓存的值个数
+     */
+    public static StringPool growable(int maxSize) {
+        return new StringPool(maxSize);
+    }
+
+    /**
+     * @param values 池中全部的值
+     */
+    public static StringPool fixed(Iterable<String> values) {
+        StringPool stringPool = new StringPool(0);
+        for (String value : values) {
+            stringPool.pool.putIfAbsent(value, value);
+        }
+        return stringPool;
+    }
+
+    /**
+     * @return 池中与value相等的实例，不存在且不可加入时返回value本身
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (pool.size() >= maxSize) {
+            return value;
+        }
+        pooled = pool.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+}
@@ -0,0 +1,431 @@
+package com.foxconn.indint.utils.getexcelutil.duplicate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 磁盘重复性检查，内存占用固定，用于超出堆内存的大量数据
+ * 1. 判定键序列化后追加写入临时文件（键记录），哈希表为内存映射文件，开放寻址，槽位保存64位哈希及键记录位置
+ * 2. 哈希表前置布隆过滤器，未出现过的键绝大多数不访问哈希表；哈希一致时读取键记录逐字节比较确认，不会误判
+ * 3. 判定键按值序列化：字符串、数字、布尔等按类型及toString，日期按类型及时间戳，List（组合键）按元素依次序列化，
+ *    因此仅适用于@UniqueKey字段或基础类型，值类型的toString需与equals一致
+ * 4. 堆内存仅为布隆过滤器（预计键数×10位）及64KB写缓冲，与数据量无关；临时文件于close时删除
+ */
+public final class DiskDuplicateDetector implements DuplicateDetector {
+
+    public static final int DEFAULT_EXPECTED_KEYS = 1 << 20;
+
+    // 槽位：64位哈希 + 键记录位置（+1，0表示空槽）
+    private static final int SLOT_BYTES = 16;
+    private static final int INITIAL_SLOTS = 1 << 16;
+    private static final int MAX_SLOTS = 1 << 30;
+    // 每段映射64MB，避免单个映射超过2GB
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 键记录头：行（/列）序号 + 键长度
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private static final byte NULL = 0;
+    private static final byte LIST = 1;
+    private static final byte DATE = 2;
+    private static final byte VALUE = 3;
+
+    private final File directory;
+    private final long[] bloom;
+    private final long bloomBits;
+
+    private final File recordFile;
+    private final FileChannel records;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+    private long flushed;
+    private byte[] scratch = new byte[256];
+
+    private File tableFile;
+    private MappedByteBuffer[] table;
+    private int slots;
+    private int size;
+
+    // indexOf后紧接add同一判定键时复用序列化结果及空槽位置
+    private Object lastKey;
+    private byte[] lastBytes;
+    private long lastHash;
+    private long lastEmptySlot = -1;
+    private int lastIndex = -1;
+
+    /**
+     * @param directory 临时文件目录，为null时使用系统临时目录
+     */
+    public DiskDuplicateDetector(File directory) {
+        this(directory, DEFAULT_EXPECTED_KEYS);
+    }
+
+    /**
+     * @param directory 临时文件目录，为null时使用系统临时目录
+     * @param expectedKeys 预计键数，决定布隆过滤器大小，超出时误判率升高但结果不变
+     */
+    public DiskDuplicateDetector(File directory, int expectedKeys) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("预计键数需大于0！");
+        }
+        this.directory = directory;
+        this.bloom = new long[(int) Math.max(1, ((long) expectedKeys * BLOOM_BITS_PER_KEY + 63) >>> 6)];
+        this.bloomBits = (long) bloom.length << 6;
+        File created = null;
+        try {
+            created = File.createTempFile("getexcelutil-dup-", ".key", directory);
+            this.recordFile = created;
+            this.records = new RandomAccessFile(recordFile, "rw").getChannel();
+            this.table = createTable(INITIAL_SLOTS);
+            this.slots = INITIAL_SLOTS;
+        } catch (IOException | RuntimeException e) {
+            if (created != null) {
+                created.delete();
+            }
+            throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public int indexOf(Object key) {
+        prepare(key);
+        if (!mightContain(lastHash)) {
+            return -1;
+        }
+        long slot = probe(lastBytes, lastHash);
+        if (slot < 0) {
+            lastEmptySlot = -slot - 1;
+            return -1;
+        }
+        return lastIndex;
+    }
+
+    @Override
+    public void add(Object key, int index) {
+        prepare(key);
+        long slot = lastEmptySlot;
+        if (slot < 0) {
+            slot = probe(lastBytes, lastHash);
+            if (slot >= 0) {
+                return;
+            }
+            slot = -slot - 1;
+        }
+        lastEmptySlot = -1;
+
+        long offset = appendRecord(lastBytes, index);
+        putSlot(table, slot, lastHash, offset + 1);
+        setBloom(lastHash);
+        if (++size > slots >>> 1) {
+            grow();
+        }
+    }
+
+    @Override
+    public void close() {
+        table = null;
+        try {
+            records.close();
+        } catch (IOException e) {
+            // 关闭失败不影响删除
+        }
+        delete(recordFile);
+        if (tableFile != null) {
+            delete(tableFile);
+        }
+    }
+
+    private static void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            // 映射未释放时部分系统无法删除
+            file.deleteOnExit();
+        }
+    }
+
+    private void prepare(Object key) {
+        if (lastBytes != null && key == lastKey) {
+            return;
+        }
+        lastKey = key;
+        lastBytes = encode(key);
+        lastHash = hash(lastBytes);
+        lastEmptySlot = -1;
+    }
+
+    /**
+     * 按哈希探测
+     * @return 命中时为槽位序号（lastIndex为首次出现的序号），未命中时为-(空槽序号)-1
+     */
+    private long probe(byte[] bytes, long hash) {
+        long mask = slots - 1;
+        long slot = hash & mask;
+        while (true) {
+            long position = slot * SLOT_BYTES;
+            MappedByteBuffer segment = table[(int) (position >>> SEGMENT_SHIFT)];
+            int offsetInSegment = (int) (position & SEGMENT_MASK);
+            long record = segment.getLong(offsetInSegment + 8);
+            if (record == 0) {
+                return -slot - 1;
+            }
+            if (segment.getLong(offsetInSegment) == hash && matches(record - 1, bytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        if (slots >= MAX_SLOTS) {
+            throw new IllegalStateException("重复性检查键数超出上限：" + size);
+        }
+        int newSlots = slots << 1;
+        File oldFile = tableFile;
+        MappedByteBuffer[] oldTable = table;
+        int oldSlots = slots;
+        MappedByteBuffer[] newTable = createTable(newSlots);
+
+        long mask = newSlots - 1;
+        for (long i = 0; i < oldSlots; i++) {
+            long position = i * SLOT_BYTES;
+            MappedByteBuffer segment = oldTable[(int) (position >>> SEGMENT_SHIFT)];
+            int offsetInSegment = (int) (position & SEGMENT_MASK);
+            long record = segment.getLong(offsetInSegment + 8);
+            if (record == 0) {
+                continue;
+            }
+            long hash = segment.getLong(offsetInSegment);
+            long slot = hash & mask;
+            while (getRecord(newTable, slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            putSlot(newTable, slot, hash, record);
+        }
+        table = newTable;
+        slots = newSlots;
+        lastEmptySlot = -1;
+        delete(oldFile);
+    }
+
+    private MappedByteBuffer[] createTable(int slotCount) {
+        long length = (long) slotCount * SLOT_BYTES;
+        int segments = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[segments];
+        File file = null;
+        try {
+            file = File.createTempFile("getexcelutil-dup-", ".idx", directory);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(length);
+                FileChannel channel = raf.getChannel();
+                for (int i = 0; i < segments; i++) {
+                    long start = (long) i << SEGMENT_SHIFT;
+                    mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(length - start, 1L << SEGMENT_SHIFT));
+                }
+            }
+        } catch (IOException e) {
+            if (file != null) {
+                file.delete();
+            }
+            throw new RuntimeException(e);
+        }
+        tableFile = file;
+        return mapped;
+    }
+
+    private static long getRecord(MappedByteBuffer[] mapped, long slot) {
+        long position = slot * SLOT_BYTES;
+        return mapped[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK) + 8);
+    }
+
+    private static void putSlot(MappedByteBuffer[] mapped, long slot, long hash, long record) {
+        long position = slot * SLOT_BYTES;
+        MappedByteBuffer segment = mapped[(int) (position >>> SEGMENT_SHIFT)];
+        int offsetInSegment = (int) (position & SEGMENT_MASK);
+        segment.putLong(offsetInSegment, hash);
+        segment.putLong(offsetInSegment + 8, record);
+    }
+
+    /**
+     * 追加键记录
+     * @return 记录位置
+     */
+    private long appendRecord(byte[] bytes, int index) {
+        int length = RECORD_HEADER_BYTES + bytes.length;
+        try {
+            if (length > writeBuffer.remaining()) {
+                flush();
+            }
+            long offset = flushed + writeBuffer.position();
+            if (length > writeBuffer.capacity()) {
+                ByteBuffer large = ByteBuffer.allocate(length);
+                large.putInt(index).putInt(bytes.length).put(bytes).flip();
+                while (large.hasRemaining()) {
+                    flushed += records.write(large, flushed);
+                }
+            } else {
+                writeBuffer.putInt(index).putInt(bytes.length).put(bytes);
+            }
+            return offset;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            flushed += records.write(writeBuffer, flushed);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * 读取键记录与判定键比较，命中时记录首次出现的序号
+     */
+    private boolean matches(long offset, byte[] bytes) {
+        if (offset >= flushed) {
+            // 记录仍在写缓冲中
+            int position = (int) (offset - flushed);
+            byte[] buffered = writeBuffer.array();
+            ByteBuffer view = ByteBuffer.wrap(buffered, position, RECORD_HEADER_BYTES);
+            int index = view.getInt();
+            int length = view.getInt();
+            int from = position + RECORD_HEADER_BYTES;
+            if (length != bytes.length || !equalRange(buffered, from, bytes)) {
+                return false;
+            }
+            lastIndex = index;
+            return true;
+        }
+        try {
+            header.clear();
+            readFully(header, offset);
+            header.flip();
+            int index = header.getInt();
+            int length = header.getInt();
+            if (length != bytes.length) {
+                return false;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length << 1)];
+            }
+            readFully(ByteBuffer.wrap(scratch, 0, length), offset + RECORD_HEADER_BYTES);
+            if (!equalRange(scratch, 0, bytes)) {
+                return false;
+            }
+            lastIndex = index;
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = records.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("重复性检查键记录不完整");
+            }
+            position += read;
+        }
+    }
+
+    private static boolean equalRange(byte[] source, int from, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (source[from + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bloomBits;
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBloom(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bloomBits;
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * FNV-1a后混合，保证低位分布均匀
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static byte[] encode(Object key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encode(key, out);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void encode(Object key, DataOutputStream out) throws IOException {
+        if (key == null) {
+            out.writeByte(NULL);
+        } else if (key instanceof List) {
+            List<?> list = (List<?>) key;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                encode(element, out);
+            }
+        } else if (key instanceof Date) {
+            out.writeByte(DATE);
+            writeString(key.getClass().getName(), out);
+            out.writeLong(((Date) key).getTime());
+        } else if (key instanceof Object[]) {
+            encode(Arrays.asList((Object[]) key), out);
+        } else {
+            out.writeByte(VALUE);
+            writeString(key.getClass().getName(), out);
+            writeString(key.toString(), out);
+        }
+    }
+
+    private static void writeString(String value, DataOutputStream out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.foxconn.indint.utils.getexcelutil.duplicate;
+
+import java.io.Closeable;
+
+/**
+ * 重复性检查
+ * 记录已读取数据的判定键及首次出现的行（/列）序号，非线程安全，每次取值使用新的实例
+ * 1. {@link MemoryDuplicateDetector}：判定键保存在内存中
+ * 2. {@link DiskDuplicateDetector}：判定键写入临时文件，内存占用固定，用于超出堆内存的大量数据
+ */
+public interface DuplicateDetector extends Closeable {
+
+    /**
+     * @param key 判定键
+     * @return 首次出现的行（/列）序号，未出现过时返回-1
+     */
+    int indexOf(Object key);
+
+    /**
+     * 记录判定键，已存在时保留首次出现的序号
+     * @param key 判定键
+     * @param index 行（/列）序号
+     */
+    void add(Object key, int index);
+
+    /**
+     * 释放资源，不抛出受检异常
+     */
+    @Override
+    void close();
+
+    /**
+     * 类型的hashCode是否与equals一致：重写equals时需同时重写hashCode
+     */
+    static boolean isHashable(Class<?> type) {
+        try {
+            boolean equalsOverridden = type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+            boolean hashCodeOverridden = type.getMethod("hashCode").getDeclaringClass() != Object.class;
+            return hashCodeOverridden || !equalsOverridden;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+}
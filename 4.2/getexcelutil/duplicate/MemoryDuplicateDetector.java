@@ -0,0 +1,62 @@
+package com.foxconn.indint.utils.getexcelutil.duplicate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 内存重复性检查
+ * 1. 按hashCode索引已读取数据的判定键，记录首次出现的行（/列）序号，每条数据的检查为常数时间
+ * 2. 判定键未重写hashCode（仅重写equals）时无法按哈希索引，退回逐个equals比较，结果与哈希索引一致
+ */
+public final class MemoryDuplicateDetector implements DuplicateDetector {
+
+    private final Map<Object, Integer> firstSeen;
+    private final List<Object> keys;
+    private final List<Integer> indexes;
+
+    /**
+     * @param hashable 判定键的hashCode是否与equals一致
+     */
+    public MemoryDuplicateDetector(boolean hashable) {
+        if (hashable) {
+            this.firstSeen = new HashMap<>();
+            this.keys = null;
+            this.indexes = null;
+        } else {
+            this.firstSeen = null;
+            this.keys = new ArrayList<>();
+            this.indexes = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public int indexOf(Object key) {
+        if (firstSeen != null) {
+            Integer index = firstSeen.get(key);
+            return index == null ? -1 : index;
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (key.equals(keys.get(i))) {
+                return indexes.get(i);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void add(Object key, int index) {
+        if (firstSeen != null) {
+            firstSeen.putIfAbsent(key, index);
+        } else {
+            keys.add(key);
+            indexes.add(index);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+}
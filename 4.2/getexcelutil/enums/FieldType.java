@@ -0,0 +1,62 @@
+package com.foxconn.indint.utils.getexcelutil.enums;
+
+/**
+ * 大迪
+ * 实体类反射field类型String、hashCode
+ */
+public enum FieldType {
+
+    NULL("null"),
+    BOOLEAN("boolean"),
+    BYTE("byte"),
+    SHORT("short"),
+    LONG("long"),
+    INT("int"),
+    FLOAT("float"),
+    DOUBLE("double"),
+    CHAR("char"),
+    STRING("class java.lang.String"),
+    INTEGER("class java.lang.Integer"),
+    BIGDECIMAL("class java.math.BigDecimal"),
+    BLONG("class java.lang.Long"),
+    BSHORT("class java.lang.Short"),
+    BDOUBLE("class java.lang.Double"),
+    DATE("class java.util.Date"),
+    LOCALDATE("class java.time.LocalDate"),
+    LOCALDATETIME("class java.time.LocalDateTime")
+    ;
+
+    private final String type;
+
+    FieldType(String type) {
+        this.type = type;
+    }
+
+    public static FieldType match(String type) {
+        for(FieldType v:values()) {
+            if(v.type.equals(type)) {
+                return v;
+            }
+        }
+        throw new IllegalArgumentException("Invalid Field Type: " + type);
+    }
+
+    /**
+     * @param clazz 字段类型
+     * @return 对应的FieldType，未列出的类型返回null
+     */
+    public static FieldType of(Class<?> clazz) {
+        String type = String.valueOf(clazz);
+        for(FieldType v:values()) {
+            if(v.type.equals(type)) {
+                return v;
+            }
+        }
+        return null;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+}
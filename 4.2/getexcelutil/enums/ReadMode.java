@@ -0,0 +1,15 @@
+package com.foxconn.indint.utils.getexcelutil.enums;
+
+/**
+ * 工作簿读取模式
+ * 1. DOM：整体加载工作簿对象模型，支持全部取值方式（默认）
+ * 2. STREAMING：基于POI事件模型逐行解析，内存占用与表格大小无关
+ *      （1）水平表格逐行解析；垂直表格（getVerticalData）需按列访问，取值时整体缓冲该工作表，内存占用同LAZY模式
+ *      （2）@DynamicRank的表头行需位于数据行之前
+ * 3. LAZY：初始化时仅读取工作表名称及可见性，工作表在首次取值时单独解析，可通过releaseSheet释放
+ */
+public enum ReadMode {
+    DOM,
+    STREAMING,
+    LAZY
+}
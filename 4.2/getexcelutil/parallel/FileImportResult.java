@@ -0,0 +1,58 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+/**
+ * 多文件取值时单个文件的结果
+ * 取值成功时持有结果，失败时持有异常，单个文件失败不影响其他文件
+ * @param <R> 取值结果类型
+ */
+public final class FileImportResult<R> {
+
+    private final String name;
+    private final R result;
+    private final Exception error;
+
+    private FileImportResult(String name, R result, Exception error) {
+        this.name = name;
+        this.result = result;
+        this.error = error;
+    }
+
+    public static <R> FileImportResult<R> success(String name, R result) {
+        return new FileImportResult<>(name, result, null);
+    }
+
+    public static <R> FileImportResult<R> failure(String name, Exception error) {
+        return new FileImportResult<>(name, null, error);
+    }
+
+    /**
+     * 文件名（上传文件为原始文件名，本地文件为路径）
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 取值结果，失败时为null
+     */
+    public R getResult() {
+        return result;
+    }
+
+    /**
+     * @return 打开文件或取值时的异常，成功时为null
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return error == null ? name + "：成功" : name + "：" + error;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多文件取值执行器
+ * 1. 运行于支持虚拟线程的JDK时，每个文件一个虚拟线程，等待I/O时不占用平台线程
+ * 2. 否则使用固定大小的守护线程池
+ * 代码以Java 8编译，虚拟线程执行器通过反射获取
+ */
+public final class ImportExecutors {
+
+    private static final Method VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private ImportExecutors() {
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return 当前JDK是否提供虚拟线程执行器
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * 创建执行器，使用完毕需shutdown
+     * @param fallbackThreads 不支持虚拟线程时线程池的线程数
+     * @return 虚拟线程执行器，不可用时（如JDK 19、20未开启预览）返回线程池
+     */
+    public static ExecutorService newExecutor(int fallbackThreads) {
+        if (VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 按线程池执行
+            }
+        }
+        return Executors.newFixedThreadPool(fallbackThreads, daemonThreadFactory());
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        int pool = POOL_SEQUENCE.incrementAndGet();
+        AtomicInteger sequence = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "getexcelutil-import-" + pool + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
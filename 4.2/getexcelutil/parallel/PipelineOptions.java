@@ -0,0 +1,94 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 流水线取值参数
+ * 读取线程按块（blockRows行）将行交给工作线程赋值、校验，块经有界队列传递，
+ * 未被合并的块最多queueCapacity个，超出时读取线程阻塞
+ * 读取线程每次取值新建，工作线程默认每次取值新建，设置executor时由其执行
+ */
+public final class PipelineOptions {
+
+    private int workers = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+    private int queueCapacity = 16;
+    private int blockRows = 256;
+    private PipelineStats stats = new PipelineStats();
+    private Executor executor;
+
+    /**
+     * 设置赋值、校验的工作线程数，默认为处理器数减一
+     * @return this
+     */
+    public PipelineOptions setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("工作线程数需大于0！");
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * 设置未合并块的上限，默认16
+     * @return this
+     */
+    public PipelineOptions setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("队列容量需大于0！");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * 设置每块的行数，默认256
+     * @return this
+     */
+    public PipelineOptions setBlockRows(int blockRows) {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("每块行数需大于0！");
+        }
+        this.blockRows = blockRows;
+        return this;
+    }
+
+    /**
+     * 设置统计，取值过程中可由其他线程读取
+     * @return this
+     */
+    public PipelineOptions setStats(PipelineStats stats) {
+        this.stats = stats;
+        return this;
+    }
+
+    /**
+     * 设置执行工作阶段的线程池，由调用方创建、关闭，默认为null即每次取值新建守护线程
+     * 读取阶段始终使用独立线程；调用线程所需的块未完成时亦自行赋值，线程池无空闲线程时取值仍可完成
+     * @return this
+     */
+    public PipelineOptions setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public PipelineStats getStats() {
+        return stats;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+}
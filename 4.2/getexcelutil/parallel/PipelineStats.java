@@ -0,0 +1,32 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+/**
+ * 流水线取值各阶段的统计
+ * 1. read：读取行（STREAMING模式为从解析线程拉取，DOM/LAZY模式为单元格转化）
+ * 2. bind：赋值、注解校验，为各工作线程之和
+ * 3. sink：按行顺序合并、重复性检查及批次回调
+ */
+public final class PipelineStats {
+
+    private final StageStats read = new StageStats("read");
+    private final StageStats bind = new StageStats("bind");
+    private final StageStats sink = new StageStats("sink");
+
+    public StageStats getRead() {
+        return read;
+    }
+
+    public StageStats getBind() {
+        return bind;
+    }
+
+    public StageStats getSink() {
+        return sink;
+    }
+
+    @Override
+    public String toString() {
+        return read + "；" + bind + "；" + sink;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+import com.foxconn.indint.utils.getexcelutil.ImportSession;
+
+/**
+ * 多文件取值时对单个文件的取值操作
+ * 在文件的取值会话内执行，会话由调用方打开、关闭
+ * @param <R> 取值结果类型
+ */
+@FunctionalInterface
+public interface SessionReader<R> {
+
+    /**
+     * @param session 当前文件的取值会话
+     * @return 取值结果
+     * @throws Exception 取值异常，记录为该文件的失败结果
+     */
+    R read(ImportSession session) throws Exception;
+
+}
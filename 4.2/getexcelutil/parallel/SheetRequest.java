@@ -0,0 +1,58 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+/**
+ * 多工作表并行取值时单个工作表的取值参数
+ * 取值规则同getHorizontalData(sheetNo, startRow, startColumn, clazz, enableDuplicateCheck)
+ * @param <T> 实体泛型
+ */
+public final class SheetRequest<T> {
+
+    private final int sheetNo;
+    private final int startRow;
+    private final int startColumn;
+    private final Class<T> clazz;
+    private boolean enableDuplicateCheck;
+
+    /**
+     * @param sheetNo 第几个sheet
+     * @param startRow 起始行
+     * @param startColumn 起始列
+     * @param clazz 接收实体类型
+     */
+    public SheetRequest(int sheetNo, int startRow, int startColumn, Class<T> clazz) {
+        this.sheetNo = sheetNo;
+        this.startRow = startRow;
+        this.startColumn = startColumn;
+        this.clazz = clazz;
+    }
+
+    /**
+     * 设置数据重复性检查，默认不检查
+     * @return this
+     */
+    public SheetRequest<T> setEnableDuplicateCheck(boolean enableDuplicateCheck) {
+        this.enableDuplicateCheck = enableDuplicateCheck;
+        return this;
+    }
+
+    public int getSheetNo() {
+        return sheetNo;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    public Class<T> getClazz() {
+        return clazz;
+    }
+
+    public boolean isEnableDuplicateCheck() {
+        return enableDuplicateCheck;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.foxconn.indint.utils.getexcelutil.parallel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流水线单个阶段的统计
+ * 处理行数、处理耗时及等待（上游无数据或下游已满）耗时，多线程阶段为各线程之和
+ * 取值过程中可由其他线程读取
+ */
+public final class StageStats {
+
+    private final String name;
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一次处理
+     * @param rows 处理的行数
+     * @param nanos 处理耗时（纳秒）
+     */
+    public void recordBusy(int rows, long nanos) {
+        this.rows.add(rows);
+        this.busyNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次等待
+     * @param nanos 等待耗时（纳秒）
+     */
+    public void recordWait(long nanos) {
+        this.waitNanos.add(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getBusyNanos() {
+        return busyNanos.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * @return 按处理耗时计算的每秒行数，未处理时为0
+     */
+    public double getRowsPerSecond() {
+        long nanos = getBusyNanos();
+        return nanos == 0 ? 0 : getRows() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return name + "：" + getRows() + "行，处理" + TimeUnit.NANOSECONDS.toMillis(getBusyNanos()) + "ms，等待"
+                + TimeUnit.NANOSECONDS.toMillis(getWaitNanos()) + "ms，" + Math.round(getRowsPerSecond()) + "行/秒";
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.foxconn.indint.utils.getexcelutil.processor;
+
+import com.foxconn.indint.utils.getexcelutil.binding.RowMapper;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 实体类访问器({@link RowMapper})生成
+ * 1. 字段使用任一取值注解的实体类，编译时在同一包下生成"实体类名_RowMapper"
+ * 2. 仅为同时具有getter、setter（类型一致）的属性生成访问方法，与PropertyDescriptor的判定一致
+ * 3. 需具有public无参构造方法；抽象类、泛型类、非静态内部类不生成
+ * 4. 生成的访问器登记于META-INF/services/com.foxconn.indint.utils.getexcelutil.binding.RowMapper，
+ *    增量编译时保留已登记的访问器，由ServiceLoader加载，不按类名反射查找
+ * 使用：编译实体类时将本类加入注解处理器，如javac -processor或maven-compiler-plugin的annotationProcessors
+ */
+public class RowMapperProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION_PACKAGE = "com.foxconn.indint.utils.getexcelutil.annotation.";
+    private static final List<String> ANNOTATIONS = Arrays.asList(
+            "NotNull", "ExcelDateFormat", "ExcelNumberFormat", "ValueLimit", "Transform", "DynamicRank", "ValueIngnore", "UniqueKey", "ExcelColumn", "Intern");
+
+    private static final String SERVICE_FILE = "META-INF/services/" + RowMapper.class.getName();
+
+    private final Set<String> generated = new HashSet<>();
+    // 本次编译生成的访问器全名，编译结束时登记
+    private final Set<String> mappers = new LinkedHashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = new LinkedHashSet<>();
+        for (String annotation : ANNOTATIONS) {
+            types.add(ANNOTATION_PACKAGE + annotation);
+        }
+        return types;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!mappers.isEmpty()) {
+                writeServiceFile();
+            }
+            return false;
+        }
+        Set<TypeElement> entities = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    entities.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement entity : entities) {
+            if (isSupported(entity) && generated.add(entity.getQualifiedName().toString())) {
+                generate(entity);
+            }
+        }
+        return false;
+    }
+
+    private boolean isSupported(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS
+                || entity.getModifiers().contains(Modifier.ABSTRACT)
+                || !entity.getTypeParameters().isEmpty()
+                || entity.getNestingKind() == NestingKind.MEMBER && !entity.getModifiers().contains(Modifier.STATIC)
+                || entity.getNestingKind() == NestingKind.LOCAL
+                || entity.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement entity) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String mapperName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_') + RowMapper.SUFFIX;
+        String entityName = entity.getQualifiedName().toString();
+        Map<String, Property> properties = findProperties(entity);
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * ").append(entity.getSimpleName()).append("取值访问器，由RowMapperProcessor生成，请勿修改\n")
+                .append(" */\n")
+                .append("public final class ").append(mapperName)
+                .append(" implements ").append(RowMapper.class.getName()).append("<").append(entityName).append("> {\n\n");
+
+        source.append("    @Override\n")
+                .append("    public Class<").append(entityName).append("> type() {\n")
+                .append("        return ").append(entityName).append(".class;\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public ").append(entityName).append(" newInstance() {\n")
+                .append("        return new ").append(entityName).append("();\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public java.util.function.BiConsumer<").append(entityName).append(", Object> setter(String property) {\n")
+                .append("        switch (property) {\n");
+        for (Property property : properties.values()) {
+            source.append("            case \"").append(property.name).append("\":\n")
+                    .append("                return (t, v) -> t.").append(property.setter)
+                    .append("((").append(property.boxedType).append(") v);\n");
+        }
+        source.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public java.util.function.Function<").append(entityName).append(", Object> getter(String property) {\n")
+                .append("        switch (property) {\n");
+        for (Property property : properties.values()) {
+            source.append("            case \"").append(property.name).append("\":\n")
+                    .append("                return t -> t.").append(property.getter).append("();\n");
+        }
+        source.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        String qualifiedMapperName = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedMapperName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+            mappers.add(qualifiedMapperName);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成" + qualifiedMapperName + "失败：" + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * 登记访问器，合并输出目录中已登记的访问器（增量编译时只处理部分实体类）
+     */
+    private void writeServiceFile() {
+        Set<String> names = new TreeSet<>();
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String name = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!name.isEmpty()) {
+                        names.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 尚未登记过访问器
+        }
+        names.addAll(mappers);
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : names) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "登记" + SERVICE_FILE + "失败：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 查找同时具有public getter、setter的属性
+     */
+    private Map<String, Property> findProperties(TypeElement entity) {
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(entity));
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        for (ExecutableElement method : methods) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            int params = method.getParameters().size();
+            TypeMirror returnType = method.getReturnType();
+            if (params == 0 && name.startsWith("get") && name.length() > 3 && returnType.getKind() != TypeKind.VOID && !"getClass".equals(name)) {
+                getters.putIfAbsent(decapitalize(name.substring(3)), method);
+            } else if (params == 0 && name.startsWith("is") && name.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+                // 与Introspector一致，boolean属性优先使用isXxx
+                getters.put(decapitalize(name.substring(2)), method);
+            } else if (params == 1 && name.startsWith("set") && name.length() > 3 && returnType.getKind() == TypeKind.VOID) {
+                setters.put(decapitalize(name.substring(3)), method);
+            }
+        }
+
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, ExecutableElement> entry : setters.entrySet()) {
+            ExecutableElement getter = getters.get(entry.getKey());
+            ExecutableElement setter = entry.getValue();
+            TypeMirror type = setter.getParameters().get(0).asType();
+            if (getter == null || !processingEnv.getTypeUtils().isSameType(
+                    processingEnv.getTypeUtils().erasure(getter.getReturnType()), processingEnv.getTypeUtils().erasure(type))) {
+                continue;
+            }
+            properties.put(entry.getKey(), new Property(entry.getKey(), getter.getSimpleName().toString(),
+                    setter.getSimpleName().toString(), boxedTypeName(type)));
+        }
+        return properties;
+    }
+
+    private String boxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    /**
+     * 同java.beans.Introspector.decapitalize
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static class Property {
+        final String name;
+        final String getter;
+        final String setter;
+        final String boxedType;
+
+        Property(String name, String getter, String setter, String boxedType) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.boxedType = boxedType;
+        }
+    }
+
+}
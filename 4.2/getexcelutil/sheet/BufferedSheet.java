@@ -0,0 +1,82 @@
+package com.foxconn.indint.utils.getexcelutil.sheet;
+
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import com.foxconn.indint.utils.getexcelutil.stream.RowData;
+import com.foxconn.indint.utils.getexcelutil.stream.StreamingSheetReader;
+import org.apache.poi.ss.util.CellAddress;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 由流式读取器一次解析得到的工作表
+ * 仅保存单元格值与批注，不含样式等对象模型
+ */
+public class BufferedSheet implements ExcelSheet {
+
+    private final String sheetName;
+    private final List<RowData> rows;
+    private final Map<CellAddress, String> comments;
+    private ColumnOccupancy columnOccupancy;
+
+    private BufferedSheet(String sheetName, List<RowData> rows, Map<CellAddress, String> comments) {
+        this.sheetName = sheetName;
+        this.rows = rows;
+        this.comments = comments;
+    }
+
+    /**
+     * 解析工作表
+     * @param reader 流式读取器
+     * @param sheetNo 第几个sheet (1-based)
+     */
+    public static BufferedSheet load(StreamingSheetReader reader, int sheetNo) throws IOException {
+        final List<RowData> rows = new ArrayList<>();
+        reader.read(sheetNo, row -> {
+            while (rows.size() < row.getRowNum()) {
+                rows.add(null);
+            }
+            rows.set(row.getRowNum() - 1, row);
+            return true;
+        });
+        return new BufferedSheet(reader.getSheetName(sheetNo), rows, reader.getComments(sheetNo));
+    }
+
+    @Override
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    @Override
+    public int getLastRowNum() {
+        return rows.size();
+    }
+
+    @Override
+    public RowData getRow(int rowNum) {
+        RowData row = rowNum >= 1 && rowNum <= rows.size() ? rows.get(rowNum - 1) : null;
+        return row == null ? new RowData(rowNum, null) : row;
+    }
+
+    @Override
+    public CellData getCell(int rowNum, int columnNum) {
+        RowData row = rowNum >= 1 && rowNum <= rows.size() ? rows.get(rowNum - 1) : null;
+        return row == null ? null : row.getCell(columnNum);
+    }
+
+    @Override
+    public String getComment(int rowNo, int columnNo) {
+        return comments.get(new CellAddress(rowNo - 1, columnNo - 1));
+    }
+
+    @Override
+    public synchronized ColumnOccupancy getColumnOccupancy() {
+        if (columnOccupancy == null) {
+            columnOccupancy = ColumnOccupancy.scan(this);
+        }
+        return columnOccupancy;
+    }
+
+}
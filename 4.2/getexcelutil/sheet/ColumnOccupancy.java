@@ -0,0 +1,68 @@
+package com.foxconn.indint.utils.getexcelutil.sheet;
+
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import com.foxconn.indint.utils.getexcelutil.stream.RowData;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 工作表列占用索引
+ * 一次遍历工作表，记录各列是否存在非空单元格及最后一个非空单元格的行号，垂直表格判定空列时为常数时间
+ * 列号从1开始
+ */
+public final class ColumnOccupancy {
+
+    private final BitSet occupied;
+    private final int[] lastRowNums;
+
+    private ColumnOccupancy(BitSet occupied, int[] lastRowNums) {
+        this.occupied = occupied;
+        this.lastRowNums = lastRowNums;
+    }
+
+    /**
+     * 遍历工作表建立索引
+     */
+    public static ColumnOccupancy scan(ExcelSheet sheet) {
+        BitSet occupied = new BitSet();
+        int[] lastRowNums = new int[16];
+        for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+            RowData row = sheet.getRow(rowNum);
+            for (int columnNum = 1; columnNum <= row.getLastCellNum(); columnNum++) {
+                CellData cell = row.getCell(columnNum);
+                if (cell == null || cell.isBlank()) {
+                    continue;
+                }
+                occupied.set(columnNum);
+                if (columnNum >= lastRowNums.length) {
+                    lastRowNums = Arrays.copyOf(lastRowNums, Math.max(columnNum + 1, lastRowNums.length << 1));
+                }
+                lastRowNums[columnNum] = rowNum;
+            }
+        }
+        return new ColumnOccupancy(occupied, lastRowNums);
+    }
+
+    /**
+     * 列中所有单元格均为空
+     */
+    public boolean isEmpty(int columnNum) {
+        return columnNum < 1 || !occupied.get(columnNum);
+    }
+
+    /**
+     * @return 列中最后一个非空单元格的行号，空列返回0
+     */
+    public int getLastRowNum(int columnNum) {
+        return columnNum < 1 || columnNum >= lastRowNums.length ? 0 : lastRowNums[columnNum];
+    }
+
+    /**
+     * @return 最后一个非空列的列号，空表返回0
+     */
+    public int getLastColumnNum() {
+        return occupied.length() == 0 ? 0 : occupied.length() - 1;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.foxconn.indint.utils.getexcelutil.sheet;
+
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import com.foxconn.indint.utils.getexcelutil.stream.RowData;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+
+/**
+ * usermodel工作表，取值时逐格转化
+ */
+public class DomSheet implements ExcelSheet {
+
+    private final Sheet sheet;
+    private ColumnOccupancy columnOccupancy;
+
+    public DomSheet(Sheet sheet) {
+        this.sheet = sheet;
+    }
+
+    @Override
+    public String getSheetName() {
+        return sheet.getSheetName();
+    }
+
+    @Override
+    public int getLastRowNum() {
+        return sheet.getLastRowNum() + 1;
+    }
+
+    @Override
+    public RowData getRow(int rowNum) {
+        return RowData.of(sheet.getRow(rowNum - 1), rowNum);
+    }
+
+    @Override
+    public CellData getCell(int rowNum, int columnNum) {
+        Row row = sheet.getRow(rowNum - 1);
+        return row == null ? null : CellData.of(row.getCell(columnNum - 1));
+    }
+
+    /**
+     * 读取批注会修改工作簿共用的绘图记录（HSSF）或工作表的批注缓存（XSSF），
+     * 多个工作表并行取值时按工作簿加锁；行、单元格的读取不修改工作簿，无需加锁
+     */
+    @Override
+    public String getComment(int rowNo, int columnNo) {
+        synchronized (sheet.getWorkbook()) {
+            Comment comment = sheet.getCellComment(new CellAddress(rowNo - 1, columnNo - 1));
+            return comment == null ? null : comment.getString().getString();
+        }
+    }
+
+    @Override
+    public synchronized ColumnOccupancy getColumnOccupancy() {
+        if (columnOccupancy == null) {
+            columnOccupancy = ColumnOccupancy.scan(this);
+        }
+        return columnOccupancy;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.foxconn.indint.utils.getexcelutil.sheet;
+
+import com.foxconn.indint.utils.getexcelutil.stream.CellData;
+import com.foxconn.indint.utils.getexcelutil.stream.RowData;
+
+/**
+ * 可随机访问的工作表
+ * 1. DOM模式：{@link DomSheet}
+ * 2. 延迟加载模式：{@link BufferedSheet}
+ * 行号、列号均从1开始
+ */
+public interface ExcelSheet {
+
+    String getSheetName();
+
+    /**
+     * 最后一行的行号，同Sheet.getLastRowNum() + 1
+     */
+    int getLastRowNum();
+
+    /**
+     * @return 行数据，行不存在时返回空行
+     */
+    RowData getRow(int rowNum);
+
+    /**
+     * @return 单元格值，不存在时返回null
+     */
+    CellData getCell(int rowNum, int columnNum);
+
+    /**
+     * @return 对应位置的批注，不存在时返回null
+     */
+    String getComment(int rowNo, int columnNo);
+
+    /**
+     * @return 列占用索引，首次调用时遍历工作表建立，此后复用
+     */
+    ColumnOccupancy getColumnOccupancy();
+
+}
@@ -0,0 +1,104 @@
+package com.foxconn.indint.utils.getexcelutil.sheet;
+
+import com.foxconn.indint.utils.getexcelutil.exceptions.SheetNoOutOfBoundsException;
+
+import java.io.IOException;
+
+/**
+ * 工作表登记
+ * 1. 整体加载：初始化时即持有全部工作表
+ * 2. 延迟加载：初始化时仅持有工作表名称，首次访问时解析对应工作表，读取完毕后可释放
+ * 3. 按工作表加锁，不同工作表可并行解析
+ */
+public class SheetRegistry {
+
+    /**
+     * 工作表解析
+     */
+    public interface SheetLoader {
+        /**
+         * @param sheetNo 第几个sheet (1-based)
+         */
+        ExcelSheet load(int sheetNo) throws IOException;
+    }
+
+    private final String[] sheetNames;
+    private final ExcelSheet[] sheets;
+    private final SheetLoader loader;
+    private final Object[] locks;
+
+    private SheetRegistry(String[] sheetNames, ExcelSheet[] sheets, SheetLoader loader) {
+        this.sheetNames = sheetNames;
+        this.sheets = sheets;
+        this.loader = loader;
+        this.locks = new Object[sheets.length];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public static SheetRegistry eager(ExcelSheet[] sheets) {
+        String[] sheetNames = new String[sheets.length];
+        for (int i = 0; i < sheets.length; i++) {
+            sheetNames[i] = sheets[i].getSheetName();
+        }
+        return new SheetRegistry(sheetNames, sheets, null);
+    }
+
+    public static SheetRegistry lazy(String[] sheetNames, SheetLoader loader) {
+        return new SheetRegistry(sheetNames, new ExcelSheet[sheetNames.length], loader);
+    }
+
+    public int getNumberOfSheets() {
+        return sheetNames.length;
+    }
+
+    /**
+     * @param sheetNo 第几个sheet (1-based)
+     */
+    public String getSheetName(int sheetNo) {
+        checkSheetNo(sheetNo);
+        return sheetNames[sheetNo - 1];
+    }
+
+    /**
+     * 获取工作表，延迟加载时首次访问即解析
+     * @param sheetNo 第几个sheet (1-based)
+     */
+    public ExcelSheet getSheet(int sheetNo) throws IOException {
+        checkSheetNo(sheetNo);
+        synchronized (locks[sheetNo - 1]) {
+            if (sheets[sheetNo - 1] == null) {
+                sheets[sheetNo - 1] = loader.load(sheetNo);
+            }
+            return sheets[sheetNo - 1];
+        }
+    }
+
+    public boolean isLoaded(int sheetNo) {
+        checkSheetNo(sheetNo);
+        synchronized (locks[sheetNo - 1]) {
+            return sheets[sheetNo - 1] != null;
+        }
+    }
+
+    /**
+     * 释放已解析的工作表，再次访问时重新解析
+     * 整体加载的工作表无法释放
+     */
+    public void release(int sheetNo) {
+        checkSheetNo(sheetNo);
+        synchronized (locks[sheetNo - 1]) {
+            if (loader != null) {
+                sheets[sheetNo - 1] = null;
+            }
+        }
+    }
+
+    private void checkSheetNo(int sheetNo) {
+        if (sheetNo < 1 || sheetNo > sheetNames.length) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import java.util.List;
+
+/**
+ * 分批取值的批次回调
+ * @param <T> 实体泛型
+ */
+@FunctionalInterface
+public interface BatchSink<T> {
+
+    /**
+     * 处理一批数据
+     * STREAMING模式下回调期间后台线程继续解析文件
+     * @param batch 本批数据，回调结束后不再被读取方引用
+     * @param rowNums 本批数据所在的行号，与batch一一对应，用于定位异常数据
+     */
+    void accept(List<T> batch, int[] rowNums);
+
+}
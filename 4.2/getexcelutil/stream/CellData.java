@@ -0,0 +1,114 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.util.Date;
+
+/**
+ * 单元格值
+ * 1. 与读取模式无关的单元格快照，DOM模式由Cell转化，流式模式由解析器直接生成
+ * 2. 公式单元格取缓存的计算结果，类型为结果类型
+ */
+public final class CellData {
+
+    private static final CellData BLANK = new CellData(CellType.BLANK, null, 0, null);
+    private static final CellData ERROR = new CellData(CellType.ERROR, null, 0, null);
+
+    private final CellType cellType;
+    private final String stringValue;
+    private final double numericValue;
+    private final Date dateValue;
+
+    private CellData(CellType cellType, String stringValue, double numericValue, Date dateValue) {
+        this.cellType = cellType;
+        this.stringValue = stringValue;
+        this.numericValue = numericValue;
+        this.dateValue = dateValue;
+    }
+
+    public static CellData ofString(String value) {
+        return new CellData(CellType.STRING, value, 0, null);
+    }
+
+    public static CellData ofNumeric(double value) {
+        return new CellData(CellType.NUMERIC, null, value, null);
+    }
+
+    /**
+     * 日期格式的数字单元格
+     * @param value 原始数值
+     * @param date 数值对应的日期
+     */
+    public static CellData ofDate(double value, Date date) {
+        return new CellData(CellType.NUMERIC, null, value, date);
+    }
+
+    public static CellData ofBoolean(boolean value) {
+        return new CellData(CellType.BOOLEAN, String.valueOf(value), 0, null);
+    }
+
+    public static CellData blank() {
+        return BLANK;
+    }
+
+    public static CellData error() {
+        return ERROR;
+    }
+
+    /**
+     * 由usermodel单元格转化
+     * @param cell 单元格，可为null
+     * @return 单元格值，cell为null时返回null
+     */
+    public static CellData of(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        CellType type = cell.getCellType();
+        if (type == CellType.FORMULA) {
+            type = cell.getCachedFormulaResultType();
+        }
+        switch (type) {
+            case STRING:
+                return ofString(cell.getStringCellValue());
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    return ofDate(cell.getNumericCellValue(), cell.getDateCellValue());
+                }
+                return ofNumeric(cell.getNumericCellValue());
+            case BOOLEAN:
+                return ofBoolean(cell.getBooleanCellValue());
+            case ERROR:
+                return ERROR;
+            default:
+                return BLANK;
+        }
+    }
+
+    public CellType getCellType() {
+        return cellType;
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public double getNumericValue() {
+        return numericValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public boolean isDateFormatted() {
+        return dateValue != null;
+    }
+
+    public boolean isBlank() {
+        return cellType == CellType.BLANK;
+    }
+
+}
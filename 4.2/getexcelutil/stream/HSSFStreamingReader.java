@@ -0,0 +1,413 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import com.foxconn.indint.utils.getexcelutil.exceptions.SheetNoOutOfBoundsException;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.CommonObjectDataSubRecord;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NoteRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.ObjRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.SubRecord;
+import org.apache.poi.hssf.record.TextObjectRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.util.CellAddress;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * xls流式读取器
+ * 基于HSSFEventFactory逐条处理BIFF记录，不构建HSSFWorkbook对象模型
+ * 1. 字符串经SST记录解析，数字单元格经格式记录判定是否为日期
+ * 2. 每次读取均从头处理记录流，全局记录之外仅保留当前行
+ * 3. 单元格记录按行有序，行号变化或工作表结束时回调上一行
+ * 4. 由文件打开时以只读方式随机访问OLE2块，不将整个文件读入内存
+ */
+public class HSSFStreamingReader implements StreamingSheetReader {
+
+    private static final short CONTINUE = 0;
+    private static final short ABORT = 1;
+
+    private final POIFSFileSystem fs;
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+    /**
+     * 工作表序号对应的子流顺序（子流按BOF位置排列，与工作表顺序不一定相同）
+     */
+    private int[] substreams;
+
+    public HSSFStreamingReader(File file) throws IOException {
+        this(new POIFSFileSystem(file, true));
+    }
+
+    public HSSFStreamingReader(InputStream inputStream) throws IOException {
+        this(new POIFSFileSystem(inputStream));
+    }
+
+    private HSSFStreamingReader(POIFSFileSystem fs) throws IOException {
+        this.fs = fs;
+        try {
+            process(new GlobalsListener());
+        } catch (IOException e) {
+            fs.close();
+            throw e;
+        }
+        List<BoundSheetRecord> ordered = Arrays.asList(BoundSheetRecord.orderByBofPosition(boundSheets));
+        substreams = new int[boundSheets.size()];
+        for (int i = 0; i < substreams.length; i++) {
+            substreams[i] = ordered.indexOf(boundSheets.get(i));
+        }
+    }
+
+    @Override
+    public int getNumberOfSheets() {
+        return boundSheets.size();
+    }
+
+    @Override
+    public String getSheetName(int sheetNo) {
+        checkSheetNo(sheetNo);
+        return boundSheets.get(sheetNo - 1).getSheetname();
+    }
+
+    @Override
+    public SheetVisibility getSheetVisibility(int sheetNo) {
+        checkSheetNo(sheetNo);
+        BoundSheetRecord boundSheet = boundSheets.get(sheetNo - 1);
+        if (boundSheet.isVeryHidden()) {
+            return SheetVisibility.VERY_HIDDEN;
+        }
+        return boundSheet.isHidden() ? SheetVisibility.HIDDEN : SheetVisibility.VISIBLE;
+    }
+
+    @Override
+    public String getComment(int sheetNo, int rowNo, int columnNo) throws IOException {
+        return getComments(sheetNo).get(new CellAddress(rowNo - 1, columnNo - 1));
+    }
+
+    @Override
+    public Map<CellAddress, String> getComments(int sheetNo) throws IOException {
+        checkSheetNo(sheetNo);
+        CommentListener listener = new CommentListener(substreams[sheetNo - 1]);
+        process(listener);
+        return listener.getComments();
+    }
+
+    @Override
+    public void read(int sheetNo, RowHandler handler) throws IOException {
+        checkSheetNo(sheetNo);
+        process(new RowListener(substreams[sheetNo - 1], handler));
+    }
+
+    @Override
+    public void close() throws IOException {
+        fs.close();
+    }
+
+    private void process(AbortableHSSFListener listener) throws IOException {
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(listener);
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fs);
+        } catch (HSSFUserException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void checkSheetNo(int sheetNo) {
+        if (sheetNo < 1 || sheetNo > boundSheets.size()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+    }
+
+
+    /**
+     * 仅处理全局记录，获取工作表信息，遇到第一个工作表时停止
+     */
+    private class GlobalsListener extends AbortableHSSFListener {
+        @Override
+        public short abortableProcessRecord(Record record) {
+            if (record instanceof BoundSheetRecord) {
+                boundSheets.add((BoundSheetRecord) record);
+            } else if (record instanceof BOFRecord && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                return ABORT;
+            }
+            return CONTINUE;
+        }
+    }
+
+
+    /**
+     * 定位目标工作表子流
+     * 嵌入图表等子流嵌套在工作表内，仅处理深度为1的记录
+     */
+    private abstract static class SubstreamListener extends AbortableHSSFListener {
+        private final int targetSubstream;
+        private int substream = -1;
+        private int depth;
+
+        SubstreamListener(int targetSubstream) {
+            this.targetSubstream = targetSubstream;
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            if (record instanceof BOFRecord) {
+                if (depth == 0 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    substream++;
+                }
+                depth++;
+                return CONTINUE;
+            }
+            if (record instanceof EOFRecord) {
+                depth--;
+                if (depth == 0 && substream == targetSubstream) {
+                    sheetEnd();
+                    return ABORT;
+                }
+                return CONTINUE;
+            }
+            if (substream < 0) {
+                return globalRecord(record) ? CONTINUE : ABORT;
+            }
+            if (depth == 1 && substream == targetSubstream) {
+                return sheetRecord(record) ? CONTINUE : ABORT;
+            }
+            return CONTINUE;
+        }
+
+        /**
+         * @return 是否继续处理
+         */
+        boolean globalRecord(Record record) {
+            return true;
+        }
+
+        /**
+         * @return 是否继续处理
+         */
+        abstract boolean sheetRecord(Record record);
+
+        void sheetEnd() {
+        }
+    }
+
+
+    /**
+     * 逐行回调单元格值
+     */
+    private static class RowListener extends SubstreamListener {
+        private final RowHandler rowHandler;
+        private final FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(null);
+        private final Map<Integer, Boolean> dateFormats = new HashMap<>();
+        private final List<CellData> cells = new ArrayList<>();
+
+        private SSTRecord sst;
+        private boolean date1904;
+        private int currentRow = -1;
+        private boolean stopped;
+
+        // 字符串公式的结果在其后的StringRecord中
+        private FormulaRecord pendingFormula;
+
+        RowListener(int targetSubstream, RowHandler rowHandler) {
+            super(targetSubstream);
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        boolean globalRecord(Record record) {
+            formats.processRecordInternally(record);
+            if (record instanceof SSTRecord) {
+                sst = (SSTRecord) record;
+            } else if (record instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+            }
+            return true;
+        }
+
+        @Override
+        boolean sheetRecord(Record record) {
+            switch (record.getSid()) {
+                case LabelSSTRecord.sid:
+                    LabelSSTRecord labelSST = (LabelSSTRecord) record;
+                    return addCell(labelSST, CellData.ofString(sst.getString(labelSST.getSSTIndex()).getString()));
+                case LabelRecord.sid:
+                    LabelRecord label = (LabelRecord) record;
+                    return addCell(label.getRow(), label.getColumn(), CellData.ofString(label.getValue()));
+                case NumberRecord.sid:
+                    NumberRecord number = (NumberRecord) record;
+                    return addCell(number, numeric(number, number.getValue()));
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord) record;
+                    switch (cachedResultType(formula)) {
+                        case STRING:
+                            pendingFormula = formula;
+                            return true;
+                        case NUMERIC:
+                            return addCell(formula, numeric(formula, formula.getValue()));
+                        case BOOLEAN:
+                            return addCell(formula, CellData.ofBoolean(formula.getCachedBooleanValue()));
+                        case ERROR:
+                            return addCell(formula, CellData.error());
+                        default:
+                            return addCell(formula, CellData.blank());
+                    }
+                case StringRecord.sid:
+                    if (pendingFormula != null) {
+                        FormulaRecord stringFormula = pendingFormula;
+                        pendingFormula = null;
+                        return addCell(stringFormula, CellData.ofString(((StringRecord) record).getString()));
+                    }
+                    return true;
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord) record;
+                    return addCell(boolErr, boolErr.isBoolean() ? CellData.ofBoolean(boolErr.getBooleanValue()) : CellData.error());
+                case BlankRecord.sid:
+                    BlankRecord blank = (BlankRecord) record;
+                    return addCell(blank, CellData.blank());
+                case MulBlankRecord.sid:
+                    MulBlankRecord mulBlank = (MulBlankRecord) record;
+                    for (int column = mulBlank.getFirstColumn(); column <= mulBlank.getLastColumn(); column++) {
+                        addCell(mulBlank.getRow(), column, CellData.blank());
+                    }
+                    return !stopped;
+                default:
+                    return true;
+            }
+        }
+
+        @Override
+        void sheetEnd() {
+            flushRow();
+        }
+
+        /**
+         * 公式缓存结果的单元格类型
+         * 记录中为CellType代码（0数字、1字符串、4布尔、5错误），POI 4.1.2的CellType.forInt已弃用，在此对应
+         */
+        private static CellType cachedResultType(FormulaRecord formula) {
+            switch (formula.getCachedResultType()) {
+                case 0:
+                    return CellType.NUMERIC;
+                case 1:
+                    return CellType.STRING;
+                case 4:
+                    return CellType.BOOLEAN;
+                case 5:
+                    return CellType.ERROR;
+                default:
+                    return CellType.BLANK;
+            }
+        }
+
+        private CellData numeric(CellValueRecordInterface record, double value) {
+            Boolean isDate = dateFormats.get((int) record.getXFIndex());
+            if (isDate == null) {
+                isDate = DateUtil.isADateFormat(formats.getFormatIndex(record), formats.getFormatString(record));
+                dateFormats.put((int) record.getXFIndex(), isDate);
+            }
+            if (isDate && DateUtil.isValidExcelDate(value)) {
+                return CellData.ofDate(value, DateUtil.getJavaDate(value, date1904));
+            }
+            return CellData.ofNumeric(value);
+        }
+
+        private boolean addCell(CellValueRecordInterface record, CellData cell) {
+            return addCell(record.getRow(), record.getColumn(), cell);
+        }
+
+        private boolean addCell(int row, int column, CellData cell) {
+            if (row != currentRow) {
+                flushRow();
+                currentRow = row;
+            }
+            while (cells.size() <= column) {
+                cells.add(null);
+            }
+            cells.set(column, cell);
+            return !stopped;
+        }
+
+        private void flushRow() {
+            if (currentRow >= 0 && !stopped) {
+                stopped = !rowHandler.handle(new RowData(currentRow + 1, cells.toArray(new CellData[0])));
+            }
+            cells.clear();
+        }
+    }
+
+
+    /**
+     * 获取工作表批注
+     * 批注由OBJ(注释类型)+TXO记录保存文本，NOTE记录关联单元格与对象id
+     */
+    private static class CommentListener extends SubstreamListener {
+        private final Map<Integer, String> texts = new HashMap<>();
+        private final Map<CellAddress, Integer> notes = new HashMap<>();
+        private int lastObjectId = -1;
+
+        CommentListener(int targetSubstream) {
+            super(targetSubstream);
+        }
+
+        @Override
+        boolean sheetRecord(Record record) {
+            if (record instanceof ObjRecord) {
+                List<SubRecord> subRecords = ((ObjRecord) record).getSubRecords();
+                lastObjectId = -1;
+                if (!subRecords.isEmpty() && subRecords.get(0) instanceof CommonObjectDataSubRecord) {
+                    CommonObjectDataSubRecord cmo = (CommonObjectDataSubRecord) subRecords.get(0);
+                    if (cmo.getObjectType() == CommonObjectDataSubRecord.OBJECT_TYPE_COMMENT) {
+                        lastObjectId = cmo.getObjectId();
+                    }
+                }
+            } else if (record instanceof TextObjectRecord && lastObjectId >= 0) {
+                texts.put(lastObjectId, ((TextObjectRecord) record).getStr().getString());
+                lastObjectId = -1;
+            } else if (record instanceof NoteRecord) {
+                NoteRecord note = (NoteRecord) record;
+                notes.put(new CellAddress(note.getRow(), note.getColumn()), note.getShapeId());
+            }
+            return true;
+        }
+
+        Map<CellAddress, String> getComments() {
+            Map<CellAddress, String> comments = new HashMap<>();
+            for (Map.Entry<CellAddress, Integer> note : notes.entrySet()) {
+                String text = texts.get(note.getValue());
+                if (text != null) {
+                    comments.put(note.getKey(), text);
+                }
+            }
+            return comments;
+        }
+    }
+
+}
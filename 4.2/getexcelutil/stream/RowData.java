@@ -0,0 +1,72 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * 行数据
+ * 1. 行号、列号均从1开始，与GetExcelUtil4的参数保持一致
+ * 2. 缺失的单元格以null表示
+ */
+public final class RowData {
+
+    private static final CellData[] NO_CELLS = new CellData[0];
+
+    private final int rowNum;
+    private final CellData[] cells;
+
+    public RowData(int rowNum, CellData[] cells) {
+        this.rowNum = rowNum;
+        this.cells = cells == null ? NO_CELLS : cells;
+    }
+
+    /**
+     * 由usermodel行转化
+     * @param row 行，可为null
+     * @param rowNum 行号
+     * @return 行数据，row为null时返回空行
+     */
+    public static RowData of(Row row, int rowNum) {
+        if (row == null || row.getLastCellNum() <= 0) {
+            return new RowData(rowNum, NO_CELLS);
+        }
+        CellData[] cells = new CellData[row.getLastCellNum()];
+        for (Cell cell : row) {
+            cells[cell.getColumnIndex()] = CellData.of(cell);
+        }
+        return new RowData(rowNum, cells);
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    /**
+     * 获取单元格
+     * @param columnNum 列号
+     * @return 单元格值，不存在时返回null
+     */
+    public CellData getCell(int columnNum) {
+        if (columnNum < 1 || columnNum > cells.length) {
+            return null;
+        }
+        return cells[columnNum - 1];
+    }
+
+    /**
+     * 最后一个单元格的列号，同Row.getLastCellNum()
+     */
+    public int getLastCellNum() {
+        return cells.length;
+    }
+
+    public boolean isEmpty() {
+        for (CellData cell : cells) {
+            if (cell != null && !cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
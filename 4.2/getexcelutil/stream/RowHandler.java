@@ -0,0 +1,15 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+/**
+ * 流式读取的行回调
+ */
+public interface RowHandler {
+
+    /**
+     * 处理一行数据
+     * @param row 行数据，仅包含文件中实际存在的行
+     * @return 是否继续读取，返回false时停止解析
+     */
+    boolean handle(RowData row);
+
+}
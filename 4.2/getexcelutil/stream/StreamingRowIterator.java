@@ -0,0 +1,125 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import java.io.Closeable;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式读取的行迭代器
+ * 1. 解析器为推模式，由后台线程解析工作表，经有界队列逐行交给调用方拉取
+ * 2. 队列满时解析线程阻塞，内存中最多保留capacity行
+ * 3. close()后解析线程在下一行停止并关闭读取器；解析异常（含Error）在调用方取值时抛出
+ * 4. 使用完毕必须close()；未关闭的迭代器被回收后解析线程才停止并关闭读取器
+ */
+public class StreamingRowIterator implements Iterator<RowData>, Closeable {
+
+    private static final RowData END = new RowData(-1, null);
+
+    private final Channel channel;
+    private RowData next;
+
+    /**
+     * @param reader 读取器，读取结束后由解析线程关闭
+     * @param sheetNo 第几个sheet (1-based)
+     * @param capacity 队列容量
+     */
+    public StreamingRowIterator(StreamingSheetReader reader, int sheetNo, int capacity) {
+        Channel channel = new Channel(capacity, this);
+        this.channel = channel;
+        // 解析线程不持有迭代器，迭代器不可达时可被回收
+        Thread producer = new Thread(() -> channel.produce(reader, sheetNo), "getexcelutil-sheet-" + sheetNo);
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            if (channel.closed) {
+                return false;
+            }
+            try {
+                next = channel.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        if (next == END) {
+            Throwable failure = channel.failure;
+            if (failure != null) {
+                throw failure instanceof RuntimeException ? (RuntimeException) failure : new RuntimeException(failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public RowData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        RowData row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() {
+        channel.closed = true;
+        channel.queue.clear();
+    }
+
+    /**
+     * 解析线程与迭代器共享的队列及状态
+     */
+    private static final class Channel {
+
+        private final BlockingQueue<RowData> queue;
+        private final WeakReference<StreamingRowIterator> owner;
+        private volatile boolean closed;
+        private volatile Throwable failure;
+
+        private Channel(int capacity, StreamingRowIterator owner) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.owner = new WeakReference<>(owner);
+        }
+
+        private void produce(StreamingSheetReader reader, int sheetNo) {
+            try (StreamingSheetReader r = reader) {
+                r.read(sheetNo, row -> put(row) && !closed);
+            } catch (Throwable e) {
+                // Error同样记录，避免调用方将解析失败视为工作表结束
+                failure = e;
+            } finally {
+                put(END);
+            }
+        }
+
+        /**
+         * 队列满时等待，已关闭或迭代器已被回收时放弃
+         */
+        private boolean put(RowData row) {
+            try {
+                while (!closed) {
+                    if (queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    if (owner.get() == null) {
+                        closed = true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.util.CellAddress;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 流式工作表读取器
+ * 1. xlsx：{@link XSSFStreamingReader}
+ * 2. xls：{@link HSSFStreamingReader}
+ * 工作表序号、行号、列号均从1开始
+ */
+public interface StreamingSheetReader extends Closeable {
+
+    int getNumberOfSheets();
+
+    String getSheetName(int sheetNo);
+
+    SheetVisibility getSheetVisibility(int sheetNo);
+
+    /**
+     * 获取批注
+     * @return 对应位置的批注，不存在时返回null
+     */
+    String getComment(int sheetNo, int rowNo, int columnNo) throws IOException;
+
+    /**
+     * 获取工作表全部批注
+     * @return 批注位置（从0开始）与内容
+     */
+    Map<CellAddress, String> getComments(int sheetNo) throws IOException;
+
+    /**
+     * 逐行读取工作表
+     * @param handler 行回调，返回false时停止读取
+     */
+    void read(int sheetNo, RowHandler handler) throws IOException;
+
+}
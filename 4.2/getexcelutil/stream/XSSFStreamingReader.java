@@ -0,0 +1,416 @@
+package com.foxconn.indint.utils.getexcelutil.stream;
+
+import com.foxconn.indint.utils.getexcelutil.exceptions.SheetNoOutOfBoundsException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.CommentsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * xlsx流式读取器
+ * 基于XSSFReader + SAX逐行解析工作表，不构建XSSFWorkbook对象模型
+ * 1. 工作表名称及可见性仅解析workbook.xml获得
+ * 2. 共享字符串表、样式表在首次读取数据时加载
+ * 3. 日期判定与HSSFDateUtil.isCellDateFormatted一致
+ * 4. 由文件打开时以只读方式随机访问zip条目，不将整个文件读入内存
+ * 5. 共享字符串按序号缓存，同一共享字符串的单元格取得同一字符串实例
+ */
+public class XSSFStreamingReader implements StreamingSheetReader {
+
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<SheetVisibility> sheetVisibilities = new ArrayList<>();
+    private boolean date1904;
+
+    private ReadOnlySharedStringsTable sharedStrings;
+    // 按共享字符串序号缓存已解码的字符串，引用同一共享字符串的单元格共用同一实例
+    private String[] sharedStringCache;
+    private StylesTable styles;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+
+    public XSSFStreamingReader(File file) throws IOException {
+        this(openPackage(file));
+    }
+
+    public XSSFStreamingReader(InputStream inputStream) throws IOException {
+        this(openPackage(inputStream));
+    }
+
+    private XSSFStreamingReader(OPCPackage pkg) throws IOException {
+        this.pkg = pkg;
+        try {
+            this.reader = new XSSFReader(pkg);
+            parse(reader.getWorkbookData(), new WorkbookHandler());
+        } catch (OpenXML4JException | IOException e) {
+            pkg.revert();
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    private static OPCPackage openPackage(File file) throws IOException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static OPCPackage openPackage(InputStream inputStream) throws IOException {
+        try {
+            return OPCPackage.open(inputStream);
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public int getNumberOfSheets() {
+        return sheetNames.size();
+    }
+
+    /**
+     * @param sheetNo 第几个sheet (1-based)
+     */
+    @Override
+    public String getSheetName(int sheetNo) {
+        checkSheetNo(sheetNo);
+        return sheetNames.get(sheetNo - 1);
+    }
+
+    /**
+     * @param sheetNo 第几个sheet (1-based)
+     */
+    @Override
+    public SheetVisibility getSheetVisibility(int sheetNo) {
+        checkSheetNo(sheetNo);
+        return sheetVisibilities.get(sheetNo - 1);
+    }
+
+    /**
+     * 获取批注
+     * @param sheetNo 第几个sheet (1-based)
+     * @param rowNo 行号
+     * @param columnNo 列号
+     * @return 对应位置的批注，不存在时返回null
+     */
+    @Override
+    public String getComment(int sheetNo, int rowNo, int columnNo) throws IOException {
+        CommentsTable comments = getSheetComments(sheetNo);
+        if (comments == null) {
+            return null;
+        }
+        XSSFComment comment = comments.findCellComment(new CellAddress(rowNo - 1, columnNo - 1));
+        return comment == null ? null : comment.getString().getString();
+    }
+
+    @Override
+    public Map<CellAddress, String> getComments(int sheetNo) throws IOException {
+        CommentsTable comments = getSheetComments(sheetNo);
+        Map<CellAddress, String> result = new HashMap<>();
+        if (comments != null) {
+            for (Iterator<CellAddress> addresses = comments.getCellAddresses(); addresses.hasNext(); ) {
+                CellAddress address = addresses.next();
+                result.put(address, comments.findCellComment(address).getString().getString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 逐行读取工作表
+     * @param sheetNo 第几个sheet (1-based)
+     * @param handler 行回调，返回false时停止读取
+     */
+    @Override
+    public void read(int sheetNo, RowHandler handler) throws IOException {
+        XSSFReader.SheetIterator iterator = moveToSheet(sheetNo);
+        loadSharedTables();
+        try (InputStream sheetStream = iterator.next()) {
+            parse(sheetStream, new SheetHandler(handler));
+        }
+    }
+
+    @Override
+    public void close() {
+        // 只读打开，放弃对包的任何修改
+        pkg.revert();
+    }
+
+    private XSSFReader.SheetIterator moveToSheet(int sheetNo) throws IOException {
+        checkSheetNo(sheetNo);
+        XSSFReader.SheetIterator iterator;
+        try {
+            iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+        } catch (OpenXML4JException e) {
+            throw new IOException(e);
+        }
+        for (int i = 1; i < sheetNo; i++) {
+            iterator.next().close();
+        }
+        return iterator;
+    }
+
+    /**
+     * @return 工作表的批注表，无批注时返回null
+     */
+    private CommentsTable getSheetComments(int sheetNo) throws IOException {
+        XSSFReader.SheetIterator iterator = moveToSheet(sheetNo);
+        // 批注表对应迭代器当前的工作表，需先移动到该工作表
+        InputStream sheetStream = iterator.next();
+        try {
+            return iterator.getSheetComments();
+        } finally {
+            sheetStream.close();
+        }
+    }
+
+    private void loadSharedTables() throws IOException {
+        if (sharedStrings != null) {
+            return;
+        }
+        try {
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            sharedStringCache = new String[Math.max(sharedStrings.getUniqueCount(), 0)];
+            styles = reader.getStylesTable();
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * 共享字符串表中的字符串，重复引用时不再创建XSSFRichTextString及新的字符串
+     */
+    private String getSharedString(int index) {
+        String[] cache = sharedStringCache;
+        if (index >= cache.length) {
+            return sharedStrings.getItemAt(index).getString();
+        }
+        String value = cache[index];
+        if (value == null) {
+            // 并发读取时至多重复解码，结果一致
+            value = sharedStrings.getItemAt(index).getString();
+            cache[index] = value;
+        }
+        return value;
+    }
+
+    private void checkSheetNo(int sheetNo) {
+        if (sheetNo < 1 || sheetNo > sheetNames.size()) {
+            throw new SheetNoOutOfBoundsException("欲读取的工作表序号大于工作表总数！");
+        }
+    }
+
+    private void parse(InputStream inputStream, DefaultHandler handler) throws IOException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(inputStream));
+        } catch (StopParsingException e) {
+            // 行回调要求停止读取
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException(e);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private boolean isDateStyle(String styleIndex) {
+        int index = styleIndex == null ? 0 : Integer.parseInt(styleIndex);
+        Boolean isDate = dateStyles.get(index);
+        if (isDate == null) {
+            // 无样式表时所有单元格均为常规格式
+            XSSFCellStyle style = styles != null && index < styles.getNumCellStyles() ? styles.getStyleAt(index) : null;
+            isDate = style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+            dateStyles.put(index, isDate);
+        }
+        return isDate;
+    }
+
+    /**
+     * 单元格引用（如"AB12"）转化为从0开始的列下标
+     */
+    private static int columnIndexOf(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+
+    /**
+     * 解析workbook.xml，获取工作表名称、可见性及日期系统
+     */
+    private class WorkbookHandler extends DefaultHandler {
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("workbookPr".equals(localName)) {
+                String value = attributes.getValue("date1904");
+                date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+            } else if ("sheet".equals(localName)) {
+                sheetNames.add(attributes.getValue("name"));
+                String state = attributes.getValue("state");
+                if ("hidden".equals(state)) {
+                    sheetVisibilities.add(SheetVisibility.HIDDEN);
+                } else if ("veryHidden".equals(state)) {
+                    sheetVisibilities.add(SheetVisibility.VERY_HIDDEN);
+                } else {
+                    sheetVisibilities.add(SheetVisibility.VISIBLE);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 解析工作表xml，每解析完一行回调一次
+     */
+    private class SheetHandler extends DefaultHandler {
+        private final RowHandler rowHandler;
+        private final List<CellData> cells = new ArrayList<>();
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowNum;
+        private int columnIndex;
+        private String cellType;
+        private String cellStyle;
+        private boolean hasValue;
+        private boolean valueOpen;
+        private boolean inlineString;
+
+        SheetHandler(RowHandler rowHandler) {
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowNum = r == null ? rowNum + 1 : Integer.parseInt(r);
+                    columnIndex = -1;
+                    cells.clear();
+                    break;
+                case "c":
+                    String reference = attributes.getValue("r");
+                    columnIndex = reference == null ? columnIndex + 1 : columnIndexOf(reference);
+                    cellType = attributes.getValue("t");
+                    cellStyle = attributes.getValue("s");
+                    value.setLength(0);
+                    hasValue = false;
+                    break;
+                case "is":
+                    inlineString = true;
+                    break;
+                case "v":
+                    valueOpen = true;
+                    hasValue = true;
+                    break;
+                case "t":
+                    if (inlineString) {
+                        valueOpen = true;
+                        hasValue = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (valueOpen) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    valueOpen = false;
+                    break;
+                case "is":
+                    inlineString = false;
+                    break;
+                case "c":
+                    while (cells.size() <= columnIndex) {
+                        cells.add(null);
+                    }
+                    cells.set(columnIndex, toCellData());
+                    break;
+                case "row":
+                    if (!rowHandler.handle(new RowData(rowNum, cells.toArray(new CellData[0])))) {
+                        throw new StopParsingException();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private CellData toCellData() {
+            if (!hasValue) {
+                return CellData.blank();
+            }
+            String text = value.toString();
+            if (cellType == null || "n".equals(cellType)) {
+                double number = Double.parseDouble(text);
+                if (isDateStyle(cellStyle) && DateUtil.isValidExcelDate(number)) {
+                    return CellData.ofDate(number, DateUtil.getJavaDate(number, date1904));
+                }
+                return CellData.ofNumeric(number);
+            }
+            switch (cellType) {
+                case "s":
+                    return CellData.ofString(getSharedString(Integer.parseInt(text)));
+                case "b":
+                    return CellData.ofBoolean("1".equals(text) || "true".equalsIgnoreCase(text));
+                case "e":
+                    return CellData.error();
+                default:
+                    // inlineStr、str（公式字符串结果）、d（ISO日期文本）
+                    return CellData.ofString(text);
+            }
+        }
+    }
+
+
+    /**
+     * 行回调要求停止时中断SAX解析
+     */
+    private static class StopParsingException extends SAXException {
+        private static final long serialVersionUID = 1L;
+    }
+
+}